@@ -0,0 +1,29 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks matching the regexp given in parameter (all of them by default) with the GC profiler, so that
+ * allocation rates are reported along with the execution times. Must be run from the root of the project, as the
+ * instances are read from the data folder.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(args.length > 0 ? args[0] : "benchmark\\..*")
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+}
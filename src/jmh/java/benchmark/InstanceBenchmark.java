@@ -0,0 +1,59 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package benchmark;
+
+import data.Factory;
+import data.InstanceUETUCT;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the loading and the preprocessing of instances.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class InstanceBenchmark {
+    @Param({"data/STG/50/50_2_rand0000.json", "data/STG/100/100_3_rand0000.json", "data/STG/300/300_5_rand0000.json"})
+    public String path;
+
+    private InstanceUETUCT instance;
+
+    @Setup
+    public void setup() {
+        instance = Factory.readInstance(path);
+    }
+
+    @Benchmark
+    public void build(Blackhole blackhole) {
+        InstanceUETUCT inst = new InstanceUETUCT(instance.getName(), instance.getN(), instance.getM(),
+            instance.getSucc());
+        blackhole.consume(inst.getAncestors());
+        blackhole.consume(inst.getDescendants());
+        blackhole.consume(inst.deepestSuccessor());
+    }
+
+    @Benchmark
+    public InstanceUETUCT readJSON() {
+        return Factory.fromJSONFile(path);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package benchmark;
+
+import constraint.ConfigurationUETUCT;
+import constraint.UETUCTModel;
+import data.Factory;
+import data.InstanceUETUCT;
+import java.util.concurrent.TimeUnit;
+import org.chocosolver.solver.Model;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the building of the Choco model of an instance.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ModelBuildingBenchmark {
+    @Param({"data/STG/50/50_2_rand0000.json", "data/STG/100/100_3_rand0000.json", "data/STG/300/300_5_rand0000.json"})
+    public String path;
+
+    @Param({"NAIVE", "ORDER"})
+    public ConfigurationUETUCT configuration;
+
+    private InstanceUETUCT instance;
+
+    @Setup
+    public void setup() {
+        instance = Factory.readInstance(path);
+    }
+
+    @Benchmark
+    public Model build() {
+        return new UETUCTModel(instance, configuration, true).getModel();
+    }
+}
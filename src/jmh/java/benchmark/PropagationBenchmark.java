@@ -0,0 +1,93 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package benchmark;
+
+import constraint.ConfigurationUETUCT;
+import constraint.UETUCTModel;
+import data.Factory;
+import data.InstanceUETUCT;
+import java.util.concurrent.TimeUnit;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks one propagation fixpoint of the ORDER model, triggered by the instantiation of the next order variable
+ * in a search state reached by following the first solution found with the ORDER search. The state is given by the
+ * fraction of the order variables already instantiated.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PropagationBenchmark {
+    @Param({"data/STG/50/50_2_rand0000.json", "data/STG/100/100_3_rand0000.json", "data/STG/300/300_5_rand0000.json"})
+    public String path;
+
+    @Param({"0", "0.25", "0.5", "0.75"})
+    public double depth;
+
+    private Solver solver;
+    private IEnvironment environment;
+    private IntVar next;
+    private int nextValue;
+
+    @Setup
+    public void setup() throws ContradictionException {
+        InstanceUETUCT instance = Factory.readInstance(path);
+        UETUCTModel reference = new UETUCTModel(instance, ConfigurationUETUCT.ORDER, true);
+        if(!reference.getModel().getSolver().solve()) {
+            throw new IllegalStateException("No solution found for " + path);
+        }
+        int[] solution = new int[instance.getN()];
+        for(int k = 0; k < solution.length; k++) {
+            solution[k] = reference.getOrder()[k].getValue();
+        }
+
+        UETUCTModel uetuctModel = new UETUCTModel(instance, ConfigurationUETUCT.ORDER, true);
+        IntVar[] order = uetuctModel.getOrder();
+        solver = uetuctModel.getModel().getSolver();
+        environment = solver.getEnvironment();
+        solver.propagate();
+        int k = 0;
+        // the propagation can instantiate the last order variables, which are then skipped
+        for(; k < order.length && (k < (int) (depth * order.length) || order[k].isInstantiated()); k++) {
+            environment.worldPush();
+            order[k].instantiateTo(solution[k], Cause.Null);
+            solver.propagate();
+        }
+        if(k == order.length) {
+            throw new IllegalStateException("No order variable left to instantiate for " + path + " at depth " + depth);
+        }
+        next = order[k];
+        nextValue = solution[k];
+    }
+
+    @Benchmark
+    public void propagate() throws ContradictionException {
+        environment.worldPush();
+        next.instantiateTo(nextValue, Cause.Null);
+        solver.propagate();
+        environment.worldPop();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package benchmark;
+
+import constraint.ConfigurationUETUCT;
+import constraint.UETUCTModel;
+import data.GeneratorUETUCT;
+import data.InstanceUETUCT;
+import java.util.Arrays;
+import java.util.Random;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.ContradictionException;
+
+/**
+ * Measures how the preprocessing of the instances, the building of the models and their initial propagation scale
+ * with the number of tasks, on synthetic instances (see {@link GeneratorUETUCT}). Each size is measured once per
+ * configuration, in a single JVM : it is not a microbenchmark, but it shows where the memory and the time stop scaling.
+ * A configuration running out of memory is not measured on larger sizes.
+ *
+ * Usage : [Family [m [density [width [sizes...]]]]]
+ * The depth of the generated graphs is n / width (the number of layers for LAYERED, and the number of windows of
+ * successors for RANDOM). One CSV line is printed per size and configuration, with the times in milliseconds and the
+ * memory retained by the instance and by the model in megabytes (measured on the used heap after garbage collections,
+ * so only approximately).
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+public class ScalingBenchmark {
+    private static final ConfigurationUETUCT[] CONFIGURATIONS = new ConfigurationUETUCT[]{
+        ConfigurationUETUCT.NAIVE, ConfigurationUETUCT.ORDER
+    };
+
+    private static long usedMemory() {
+        for(int k = 0; k < 3; k++) {
+            System.gc();
+        }
+        return Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format("%.1f", bytes / (1024.0 * 1024.0));
+    }
+
+    public static void main(String[] args) {
+        GeneratorUETUCT.Family family = args.length > 0 ? GeneratorUETUCT.Family.valueOf(args[0])
+            : GeneratorUETUCT.Family.LAYERED;
+        int m = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        double density = args.length > 2 ? Double.parseDouble(args[2]) : 3;
+        int width = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+        int[] sizes = args.length > 4 ? Arrays.stream(args, 4, args.length).mapToInt(Integer::parseInt).toArray()
+            : new int[]{1000, 2000, 5000, 10000};
+        boolean[] outOfMemory = new boolean[CONFIGURATIONS.length];
+        System.out.println("family;n;m;nbEdges;configuration;preprocessingTime;instanceMemory;buildTime;"
+            + "propagationTime;nbVars;nbCstrs;modelMemory;");
+        for(int n : sizes) {
+            String name = family.name().toLowerCase() + "_" + n + "_" + m;
+            int[][] succ = GeneratorUETUCT.generate(family, name, n, m, density, Math.max(1, n / width),
+                new Random(n)).getSucc();
+            int nbEdges = Arrays.stream(succ).mapToInt(s -> s.length).sum();
+            for(int c = 0; c < CONFIGURATIONS.length; c++) {
+                String prefix = family + ";" + n + ";" + m + ";" + nbEdges + ";" + CONFIGURATIONS[c] + ";";
+                if(outOfMemory[c]) {
+                    System.out.println(prefix + "OOM;");
+                    continue;
+                }
+                try {
+                    long memory = usedMemory();
+                    long start = System.nanoTime();
+                    InstanceUETUCT instance = new InstanceUETUCT(name, n, m, succ);
+                    instance.getAncestors();
+                    long preprocessingTime = System.nanoTime() - start;
+                    long instanceMemory = usedMemory() - memory;
+                    start = System.nanoTime();
+                    Model model = new UETUCTModel(instance, CONFIGURATIONS[c], true).getModel();
+                    long buildTime = System.nanoTime() - start;
+                    start = System.nanoTime();
+                    String propagationTime;
+                    try {
+                        model.getSolver().propagate();
+                        propagationTime = Long.toString((System.nanoTime() - start) / 1000000);
+                    } catch(ContradictionException e) {
+                        propagationTime = "FAIL";
+                    }
+                    long modelMemory = usedMemory() - memory - instanceMemory;
+                    System.out.println(prefix
+                        + preprocessingTime / 1000000 + ";"
+                        + megabytes(instanceMemory) + ";"
+                        + buildTime / 1000000 + ";"
+                        + propagationTime + ";"
+                        + model.getNbVars() + ";"
+                        + model.getNbCstrs() + ";"
+                        + megabytes(modelMemory) + ";");
+                } catch(OutOfMemoryError e) {
+                    outOfMemory[c] = true;
+                    System.out.println(prefix + "OOM;");
+                }
+            }
+        }
+    }
+}
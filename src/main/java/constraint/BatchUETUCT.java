@@ -0,0 +1,142 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package constraint;
+
+import data.CacheUETUCT;
+import data.Factory;
+import data.InstanceUETUCT;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solves a batch of instances concurrently on a bounded pool of workers, and writes one CSV line per instance with the
+ * same columns as the final line printed by {@link UETUCTModel#main(String[])}.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+public class BatchUETUCT {
+    public static final String HEADER = "instanceName;timeToProof;timeToBest;Objective;nbNodes;nbBacktracks;nbFails;";
+    // the columns following the name of an instance that could not be solved, so that its line has those of HEADER
+    private static final String ERROR_COLUMNS = ";ERROR;;;;;;";
+
+    private final ConfigurationUETUCT configuration;
+    private final long timeLimitInMilliseconds;
+    private final int nbWorkers;
+    private final CacheUETUCT cache;
+
+    public BatchUETUCT(ConfigurationUETUCT configuration, long timeLimitInMilliseconds, int nbWorkers) {
+        this(configuration, timeLimitInMilliseconds, nbWorkers, null);
+    }
+
+    /**
+     * Builds a batch whose instances are solved through the given cache of the best schedules (see
+     * {@link UETUCTModel#solve(InstanceUETUCT, ConfigurationUETUCT, long, CacheUETUCT, java.util.function.Consumer)}),
+     * except with the PORTFOLIO configuration.
+     *
+     * @param configuration the configuration of the models
+     * @param timeLimitInMilliseconds the time limit of each instance
+     * @param nbWorkers the number of instances solved at the same time
+     * @param cache the cache of the best schedules, or null
+     */
+    public BatchUETUCT(ConfigurationUETUCT configuration, long timeLimitInMilliseconds, int nbWorkers,
+        CacheUETUCT cache) {
+        this.configuration = configuration;
+        this.timeLimitInMilliseconds = timeLimitInMilliseconds;
+        this.nbWorkers = nbWorkers;
+        this.cache = cache;
+    }
+
+    /**
+     * Solves the instance stored at the given path and returns its final statistics line.
+     *
+     * @param file the path of the instance file
+     * @return the final statistics line
+     */
+    public String solve(Path file) {
+        InstanceUETUCT instance = Factory.readInstance(file.toString());
+        if(instance == null) {
+            return file.getFileName() + ERROR_COLUMNS;
+        }
+        // only the final statistics are reported
+        return UETUCTModel.solve(instance, configuration, timeLimitInMilliseconds, cache, line -> {});
+    }
+
+    /**
+     * Solves all the given instances and writes one line per instance in out, in the order in which they are solved.
+     * An instance whose solving fails, including with an error such as an OutOfMemoryError, still has a line, whose
+     * second column is ERROR and whose other columns are empty, the failure being reported on the standard error.
+     *
+     * @param files the instance files
+     * @param out the output stream
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public void run(List<Path> files, PrintStream out) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(nbWorkers);
+        out.println(HEADER);
+        for(Path file : files) {
+            executor.submit(() -> {
+                String line;
+                try {
+                    line = solve(file);
+                } catch(Throwable e) {
+                    // an error thrown by a worker would otherwise only be stored in its unread Future
+                    line = file.getFileName() + ERROR_COLUMNS;
+                    System.err.println(file.getFileName() + " : " + e);
+                }
+                synchronized(out) {
+                    out.println(line);
+                    out.flush();
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+    }
+
+    /**
+     * Returns the default number of workers of a batch with the given configuration : one per available core, or one
+     * per group of {@link PortfolioUETUCT#NB_BASE_MODELS} cores with PORTFOLIO, whose models are solved in parallel,
+     * so that the cores are not oversubscribed and the times stay comparable with the other configurations.
+     *
+     * @param configuration the configuration of the models
+     * @return the default number of workers, at least 1
+     */
+    public static int defaultNbWorkers(ConfigurationUETUCT configuration) {
+        int nbCores = Runtime.getRuntime().availableProcessors();
+        if(configuration == ConfigurationUETUCT.PORTFOLIO) {
+            return Math.max(1, nbCores / PortfolioUETUCT.NB_BASE_MODELS);
+        }
+        return nbCores;
+    }
+
+    /**
+     * Usage : ConfigurationName timeLimitInMinutes directoryOrGlob [outputCSVFile [nbWorkers [cacheDirectory]]]
+     * By default, nbWorkers is given by {@link #defaultNbWorkers(ConfigurationUETUCT)}.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        ConfigurationUETUCT configuration = ConfigurationUETUCT.valueOf(args[0]);
+        long timeLimitInMilliseconds = Long.parseLong(args[1]) * 60000;
+        List<Path> files = Factory.listInstances(args[2]);
+        int nbWorkers = args.length > 4 ? Integer.parseInt(args[4]) : defaultNbWorkers(configuration);
+        CacheUETUCT cache = args.length > 5 ? new CacheUETUCT(args[5]) : null;
+        BatchUETUCT batch = new BatchUETUCT(configuration, timeLimitInMilliseconds, nbWorkers, cache);
+        if(args.length > 3 && !args[3].equals("-")) {
+            try(PrintStream out = new PrintStream(args[3])) {
+                batch.run(files, out);
+            } catch(FileNotFoundException e) {
+                e.printStackTrace();
+            }
+        } else {
+            batch.run(files, System.out);
+        }
+    }
+}
@@ -6,5 +6,5 @@
 package constraint;
 
 public enum ConfigurationUETUCT {
-    NAIVE, ORDER, ORDER_ADAPTED
+    NAIVE, ORDER, ORDER_ADAPTED, PORTFOLIO, LNS
 }
@@ -0,0 +1,73 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package constraint;
+
+import java.util.Random;
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.loop.lns.neighbors.IntNeighbor;
+import org.chocosolver.solver.variables.IntVar;
+
+/**
+ * LNS neighborhood over the order variables of {@link UETUCTModel} relaxing the positions of the critical tasks of the
+ * last solution, i.e. the tasks such that their deepest successor would delay the makespan if they started later. The
+ * positions of the other tasks are relaxed with a probability that grows each time a neighborhood is explored without
+ * improvement, and is reset when a solution is found.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+public class CriticalNeighborhood extends IntNeighbor {
+    private static final double INITIAL_RATIO = 0.05;
+
+    private final IntVar[] starts;
+    private final IntVar makespan;
+    private final int[] deepestSuccessor;
+    private final boolean[] critical;
+    private final Random random;
+    private double ratio;
+
+    public CriticalNeighborhood(IntVar[] order, IntVar[] starts, IntVar makespan, int[] deepestSuccessor, long seed) {
+        super(order);
+        this.starts = starts;
+        this.makespan = makespan;
+        this.deepestSuccessor = deepestSuccessor;
+        this.critical = new boolean[starts.length];
+        this.random = new Random(seed);
+        this.ratio = INITIAL_RATIO;
+    }
+
+    @Override
+    public void recordSolution() {
+        super.recordSolution();
+        for(int i = 0; i < starts.length; i++) {
+            critical[i] = starts[i].getValue() + deepestSuccessor[i] + 1 == makespan.getValue();
+        }
+        ratio = INITIAL_RATIO;
+    }
+
+    @Override
+    public void loadFromSolution(Solution solution) {
+        super.loadFromSolution(solution);
+        for(int i = 0; i < starts.length; i++) {
+            critical[i] = solution.getIntVal(starts[i]) + deepestSuccessor[i] + 1 == solution.getIntVal(makespan);
+        }
+        ratio = INITIAL_RATIO;
+    }
+
+    @Override
+    public void fixSomeVariables() throws ContradictionException {
+        for(int k = 0; k < variables.length; k++) {
+            if(!critical[values[k]] && random.nextDouble() >= ratio) {
+                freeze(k);
+            }
+        }
+    }
+
+    @Override
+    public void restrictLess() {
+        ratio = Math.min(1, ratio * 1.5);
+    }
+}
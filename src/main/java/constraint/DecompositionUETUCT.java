@@ -0,0 +1,236 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package constraint;
+
+import data.Factory;
+import data.InstanceUETUCT;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Solves an instance whose precedence graph has several weakly connected components by solving each component as an
+ * independent sub-instance, in parallel, and then merging their schedules. The schedules are merged by decreasing
+ * makespan : each one is shifted by the smallest delay, and its machines renumbered, so that it only uses idle slots
+ * of the schedules already merged. The merged schedule is optimal if its makespan reaches the lower bound of the whole
+ * instance, but not in general as the components compete for the same machines : otherwise, it is the starting point
+ * of a search on the whole instance, with the time left before the time limit.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+public class DecompositionUETUCT {
+    private static final int IDLE = -1;
+
+    private final InstanceUETUCT instance;
+    private final int[][] components;
+    private ScheduleUETUCT schedule;
+
+    public DecompositionUETUCT(InstanceUETUCT instance) {
+        this.instance = instance;
+        this.components = instance.components();
+    }
+
+    /**
+     * Returns the weakly connected components of the instance.
+     *
+     * @return the components
+     */
+    public int[][] getComponents() {
+        return components;
+    }
+
+    /**
+     * Solves the components in parallel, each one with the given configuration, and merges their schedules, within the
+     * given time limit : the components are solved with the time left when they start, and the merged schedule is
+     * improved on the whole instance with the time left after them.
+     *
+     * @param configuration the configuration of the model of each component
+     * @param timeLimitInMilliseconds the time limit of the whole solving
+     * @param nbWorkers the number of components solved at the same time
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public void solve(ConfigurationUETUCT configuration, long timeLimitInMilliseconds, int nbWorkers)
+        throws InterruptedException {
+        if(configuration == ConfigurationUETUCT.PORTFOLIO) {
+            throw new UnsupportedOperationException("Configuration ("+configuration+") not supported for components");
+        }
+        long deadline = System.nanoTime() + timeLimitInMilliseconds * 1000000;
+        ExecutorService executor = Executors.newFixedThreadPool(nbWorkers);
+        Future<?>[] futures = new Future<?>[components.length];
+        for(int c = 0; c < components.length; c++) {
+            InstanceUETUCT subInstance = instance.subInstance(components[c]);
+            futures[c] = executor.submit(() -> {
+                ScheduleUETUCT component = new ScheduleUETUCT(new GreedyUETUCT(subInstance));
+                component.improve(subInstance, configuration, ScheduleUETUCT.remaining(deadline));
+                return component;
+            });
+        }
+        executor.shutdown();
+        ScheduleUETUCT[] schedules = new ScheduleUETUCT[components.length];
+        try {
+            for(int c = 0; c < components.length; c++) {
+                schedules[c] = (ScheduleUETUCT) futures[c].get();
+            }
+        } catch(ExecutionException e) {
+            throw new IllegalStateException("Component could not be solved", e.getCause());
+        }
+        schedule = merge(schedules);
+        // the makespan of the whole instance is at least the optimal makespan of each component
+        schedule.isOptimal = schedule.makespan == instance.splitMakespanLowerBound();
+        for(ScheduleUETUCT component : schedules) {
+            schedule.isOptimal |= component.isOptimal && component.makespan == schedule.makespan;
+        }
+        // the components compete for the machines : the merged schedule is improved on the whole instance
+        schedule.improveUntil(instance, configuration, deadline);
+    }
+
+    private ScheduleUETUCT merge(ScheduleUETUCT[] schedules) {
+        int m = instance.getM();
+        int horizon = 0;
+        for(ScheduleUETUCT schedule : schedules) {
+            horizon += schedule.makespan;
+        }
+        int[][] machines = new int[m][horizon];
+        for(int[] machine : machines) {
+            Arrays.fill(machine, IDLE);
+        }
+        Integer[] byMakespan = new Integer[schedules.length];
+        for(int c = 0; c < schedules.length; c++) {
+            byMakespan[c] = c;
+        }
+        Arrays.sort(byMakespan, (c1, c2) -> schedules[c2].makespan - schedules[c1].makespan);
+        ScheduleUETUCT merged = new ScheduleUETUCT(new int[instance.getN()], new boolean[instance.getN()][m], 0);
+        // the merged schedule is known once the schedule of each component is
+        merged.foundAt = Long.MIN_VALUE;
+        for(int c : byMakespan) {
+            ScheduleUETUCT schedule = schedules[c];
+            int[] machine = null;
+            int delay = 0;
+            while(machine == null) {
+                machine = renumbering(schedule, machines, delay);
+                if(machine == null) {
+                    delay++;
+                }
+            }
+            for(int i = 0; i < schedule.starts.length; i++) {
+                int task = components[c][i];
+                merged.starts[task] = schedule.starts[i] + delay;
+                merged.makespan = Math.max(merged.makespan, merged.starts[task] + 1);
+                for(int k = 0; k < m; k++) {
+                    if(schedule.assignments[i][k]) {
+                        merged.assignments[task][machine[k]] = true;
+                        machines[machine[k]][merged.starts[task]] = task;
+                    }
+                }
+            }
+            merged.nbNodes += schedule.nbNodes;
+            merged.nbBacktracks += schedule.nbBacktracks;
+            merged.nbFails += schedule.nbFails;
+            merged.foundAt = Math.max(merged.foundAt, schedule.foundAt);
+        }
+        return merged;
+    }
+
+    /**
+     * Returns a renumbering of the machines of the schedule such that, when delayed by the given delay, it only uses
+     * idle slots, or null if there is none. It is a matching between the machines of the schedule and the ones of the
+     * merged schedule, computed with augmenting paths.
+     */
+    private static int[] renumbering(ScheduleUETUCT schedule, int[][] machines, int delay) {
+        int m = machines.length;
+        boolean[][] compatible = new boolean[m][m];
+        for(int k = 0; k < m; k++) {
+            Arrays.fill(compatible[k], true);
+        }
+        for(int i = 0; i < schedule.starts.length; i++) {
+            for(int k = 0; k < m; k++) {
+                if(schedule.assignments[i][k]) {
+                    for(int l = 0; l < m; l++) {
+                        compatible[k][l] &= machines[l][schedule.starts[i] + delay] == IDLE;
+                    }
+                }
+            }
+        }
+        int[] matchOf = new int[m];
+        Arrays.fill(matchOf, -1);
+        for(int k = 0; k < m; k++) {
+            if(!augment(k, compatible, matchOf, new boolean[m])) {
+                return null;
+            }
+        }
+        int[] renumbering = new int[m];
+        for(int l = 0; l < m; l++) {
+            renumbering[matchOf[l]] = l;
+        }
+        return renumbering;
+    }
+
+    private static boolean augment(int k, boolean[][] compatible, int[] matchOf, boolean[] visited) {
+        for(int l = 0; l < compatible[k].length; l++) {
+            if(compatible[k][l] && !visited[l]) {
+                visited[l] = true;
+                if(matchOf[l] == -1 || augment(matchOf[l], compatible, matchOf, visited)) {
+                    matchOf[l] = k;
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public int[] getStarts() {
+        return schedule.starts;
+    }
+
+    /**
+     * Returns the machines of each task in the merged schedule, i.e. assignments[i][k] is true iff a copy of task i is
+     * processed on machine k.
+     *
+     * @return the machines of each task
+     */
+    public boolean[][] getAssignments() {
+        return schedule.assignments;
+    }
+
+    public int getMakespan() {
+        return schedule.makespan;
+    }
+
+    /**
+     * Returns true iff the schedule is known to be optimal, i.e. its makespan reaches the lower bound of the whole
+     * instance, or its improvement on the whole instance was proved optimal.
+     *
+     * @return true iff the merged schedule is optimal
+     */
+    public boolean isOptimal() {
+        return schedule.isOptimal;
+    }
+
+    /**
+     * Usage : ConfigurationName timeLimitInMinutes pathToInstanceFile [nbWorkers]
+     * The final line has the same format as the one of {@link UETUCTModel#main(String[])}, the counters being summed
+     * over the components, followed by the number of components and by whether the schedule is known to be optimal.
+     * The time to best is the time at which the last of the best schedules of the components, or the improvement of
+     * the merged schedule on the whole instance, was found.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        ConfigurationUETUCT configuration = ConfigurationUETUCT.valueOf(args[0]);
+        long timeLimitInMilliseconds = Long.parseLong(args[1]) * 60000;
+        InstanceUETUCT instance = Factory.readInstance(args[2]);
+        int nbWorkers = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        long start = System.nanoTime();
+        DecompositionUETUCT decomposition = new DecompositionUETUCT(instance);
+        decomposition.solve(configuration, timeLimitInMilliseconds, nbWorkers);
+        long time = (System.nanoTime() - start) / 1000000;
+        long timeToBest = (decomposition.schedule.foundAt - start) / 1000000;
+        System.out.println(instance.getName() + ";" + time + ";" + timeToBest + ";" + decomposition.getMakespan() + ";"
+            + decomposition.schedule.nbNodes + ";" + decomposition.schedule.nbBacktracks + ";"
+            + decomposition.schedule.nbFails + ";" + decomposition.getComponents().length + ";"
+            + decomposition.isOptimal() + ";");
+    }
+}
@@ -0,0 +1,190 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package constraint;
+
+import data.InstanceUETUCT;
+import gnu.trove.list.array.TIntArrayList;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * List scheduling heuristic with duplication for the UET-UCT. Tasks are scheduled one at a time, as soon as all their
+ * predecessors are scheduled, by decreasing depth of their deepest successor (smallest index first in case of ties).
+ * Each task is placed as done by the heuristic of {@link PropOrderUETUCT} : right after its last predecessor, by
+ * duplicating its D-path on a machine where it fits, or otherwise at the first time a machine is idle.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+public class GreedyUETUCT {
+    private static final int IDLE = -1;
+
+    private final int[][] predecessors;
+    private final int[] order;
+    private final int[] starts;
+    private final boolean[][] assignments;
+    private final int makespan;
+
+    // machines[k][t] is the task processed on machine k at time t
+    private final int[][] machines;
+    private final int[] predInDpath;
+    private final TIntArrayList dpath = new TIntArrayList();
+
+    public GreedyUETUCT(InstanceUETUCT instance) {
+        int n = instance.getN();
+        int m = instance.getM();
+        this.predecessors = instance.getPred();
+        this.order = new int[n];
+        this.starts = new int[n];
+        this.assignments = new boolean[n][m];
+        // each task starts at most two time units after the latest start so far, so 2n time slots are enough
+        this.machines = new int[m][2 * n + 2];
+        for(int[] machine : machines) {
+            Arrays.fill(machine, IDLE);
+        }
+        this.predInDpath = new int[n];
+        Arrays.fill(predInDpath, -1);
+
+        int[] deepestSuccessor = instance.deepestSuccessor();
+        int[][] succ = instance.getSucc();
+        int[] nbPredLeft = new int[n];
+        PriorityQueue<Integer> ready = new PriorityQueue<>(
+            (a, b) -> deepestSuccessor[a] != deepestSuccessor[b] ? deepestSuccessor[b] - deepestSuccessor[a] : a - b
+        );
+        for(int i = 0; i < n; i++) {
+            nbPredLeft[i] = predecessors[i].length;
+            if(nbPredLeft[i] == 0) {
+                ready.add(i);
+            }
+        }
+        int end = 0;
+        for(int idx = 0; idx < n; idx++) {
+            int v = ready.poll();
+            order[idx] = v;
+            place(v);
+            end = Math.max(end, starts[v] + 1);
+            for(int j = 0; j < succ[v].length; j++) {
+                if(--nbPredLeft[succ[v][j]] == 0) {
+                    ready.add(succ[v][j]);
+                }
+            }
+        }
+        this.makespan = end;
+    }
+
+    /**
+     * Computes the D-path of task v when it starts right after its predecessor p, i.e. v, p, and then the predecessors
+     * in the D-paths of the previous tasks.
+     */
+    private void computeDpath(int v, int p) {
+        dpath.clear();
+        dpath.add(v);
+        for(int q = p; q != -1; q = predInDpath[q]) {
+            dpath.add(q);
+        }
+    }
+
+    private void place(int v) {
+        int m = 0;
+        int nb = 0;
+        int p = -1;
+        for(int i = 0; i < predecessors[v].length; i++) {
+            int t = starts[predecessors[v][i]];
+            if(m < t || nb == 0) {
+                nb = 1;
+                m = t;
+                p = predecessors[v][i];
+            } else if(m == t) {
+                nb++;
+            }
+        }
+        if(nb >= 2) {
+            m += 2;
+        } else if(nb == 1) {
+            m += 1;
+            computeDpath(v, p);
+            for(int k = 0; k < machines.length; k++) {
+                for(int j = 0; j < dpath.size(); j++) {
+                    int task = machines[k][m - j];
+                    if(task == dpath.getQuick(j) || (task == IDLE && j == dpath.size() - 1)) {
+                        for(int l = 0; l < dpath.size(); l++) {
+                            assignments[dpath.getQuick(l)][k] = true;
+                            machines[k][m - l] = dpath.getQuick(l);
+                        }
+                        starts[v] = m;
+                        predInDpath[v] = p;
+                        return;
+                    } else if(task != IDLE) {
+                        break;
+                    }
+                }
+            }
+            m++;
+        }
+        for(int t = m; ; t++) {
+            for(int k = 0; k < machines.length; k++) {
+                if(machines[k][t] == IDLE) {
+                    machines[k][t] = v;
+                    assignments[v][k] = true;
+                    starts[v] = t;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Renumbers the machines so that their columns in the assignments matrix are in increasing lexicographic order
+     * (tasks being taken by increasing index), as required by the machine symmetry breaking of {@link UETUCTModel}.
+     */
+    public void sortMachines() {
+        int m = machines.length;
+        Integer[] permutation = new Integer[m];
+        for(int k = 0; k < m; k++) {
+            permutation[k] = k;
+        }
+        Arrays.sort(permutation, (k1, k2) -> {
+            for(boolean[] assignment : assignments) {
+                if(assignment[k1] != assignment[k2]) {
+                    return assignment[k1] ? 1 : -1;
+                }
+            }
+            return 0;
+        });
+        for(boolean[] assignment : assignments) {
+            boolean[] copy = assignment.clone();
+            for(int k = 0; k < m; k++) {
+                assignment[k] = copy[permutation[k]];
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks in the order in which they were scheduled.
+     *
+     * @return the order of the tasks
+     */
+    public int[] getOrder() {
+        return order;
+    }
+
+    public int[] getStarts() {
+        return starts;
+    }
+
+    /**
+     * Returns the machines on which each task is processed, i.e. assignments[i][k] is true iff a copy of task i is
+     * processed on machine k.
+     *
+     * @return the machines of each task
+     */
+    public boolean[][] getAssignments() {
+        return assignments;
+    }
+
+    public int getMakespan() {
+        return makespan;
+    }
+}
@@ -0,0 +1,236 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package constraint;
+
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.learn.AbstractEventObserver;
+import org.chocosolver.solver.search.loop.monitors.IMonitorContradiction;
+import org.chocosolver.solver.search.loop.monitors.IMonitorOpenNode;
+import org.chocosolver.solver.variables.IntVar;
+
+/**
+ * Instrumentation of the propagation and of the search of a model, exported as JSON lines. It records, for each class
+ * of cause (propagator, decision, ...), the number of values it removed and the number of contradictions it raised,
+ * and, for the propagators of this package, the number of calls and the cumulative time of their filtering. During the
+ * search, a sample of its progress is printed periodically, and a summary line per class is printed by
+ * {@link #printSummary()}.
+ * The values removed are counted on the bounds, i.e. the update of a bound counts all the values between the old and
+ * the new bound. Choco does not expose the size of its trail : the trail of a sample is the number of domain
+ * modifications on the current branch, each one being trailed.
+ * Nothing is installed when the instrumentation is not created, the propagators only check a null field : this check
+ * is not measurable on PropagationBenchmark, whose propagation times stay within the noise of its runs.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+public class MetricsUETUCT extends AbstractEventObserver implements IMonitorContradiction, IMonitorOpenNode {
+    private static final int CALLS = 0;
+    private static final int TIME = 1;
+    private static final int REMOVED = 2;
+    private static final int CONTRADICTIONS = 3;
+
+    /**
+     * Propagator whose filtering can be measured.
+     */
+    interface Measured {
+        void setMetrics(MetricsUETUCT metrics);
+    }
+
+    /**
+     * Filtering algorithm of a measured propagator.
+     */
+    interface Filtering {
+        void filter() throws ContradictionException;
+    }
+
+    private final Solver solver;
+    private final PrintStream out;
+    private final long periodInNanoseconds;
+    private final Map<Class<?>, long[]> counters = new LinkedHashMap<>();
+    private Class<?> lastClass;
+    private long[] lastCounters;
+
+    // modifications[w] is the number of domain modifications in world w, stamped with the time stamp of the world
+    private int[] modifications = new int[64];
+    private int[] stamps = new int[64];
+
+    private long lastSampleTime;
+    private long lastSampleNodes;
+
+    /**
+     * Installs the instrumentation on the given model.
+     *
+     * @param model the model to instrument
+     * @param out the stream on which the JSON lines are printed
+     * @param periodInMilliseconds the period of the samples of the search
+     */
+    public MetricsUETUCT(Model model, PrintStream out, long periodInMilliseconds) {
+        this.solver = model.getSolver();
+        this.out = out;
+        this.periodInNanoseconds = periodInMilliseconds * 1000000;
+        for(Constraint constraint : model.getCstrs()) {
+            for(Propagator<?> propagator : constraint.getPropagators()) {
+                if(propagator instanceof Measured) {
+                    ((Measured) propagator).setMetrics(this);
+                }
+            }
+        }
+        solver.setEventObserver(this);
+        solver.plugMonitor(this);
+        this.lastSampleTime = System.nanoTime();
+    }
+
+    private long[] counters(Object cause) {
+        Class<?> clazz = cause == null ? Object.class : cause.getClass();
+        if(clazz != lastClass) {
+            lastClass = clazz;
+            lastCounters = counters.computeIfAbsent(clazz, c -> new long[]{-1, -1, 0, 0});
+        }
+        return lastCounters;
+    }
+
+    /**
+     * Runs the filtering of the given propagator, and records its call and its time.
+     */
+    void measure(Propagator<?> propagator, Filtering filtering) throws ContradictionException {
+        long start = System.nanoTime();
+        try {
+            filtering.filter();
+        } finally {
+            long[] c = counters(propagator);
+            if(c[CALLS] == -1) {
+                c[CALLS] = 0;
+                c[TIME] = 0;
+            }
+            c[CALLS]++;
+            c[TIME] += System.nanoTime() - start;
+        }
+    }
+
+    private void onModification(ICause cause, int nbRemoved) {
+        counters(cause)[REMOVED] += nbRemoved;
+        int world = currentWorld();
+        modifications[world]++;
+    }
+
+    /**
+     * Returns the index of the current world, whose number of modifications is reset if its index was used by a
+     * previous world.
+     */
+    private int currentWorld() {
+        int world = solver.getEnvironment().getWorldIndex();
+        int stamp = solver.getEnvironment().getTimeStamp();
+        if(world >= modifications.length) {
+            int length = Math.max(world + 1, 2 * modifications.length);
+            int[] newModifications = new int[length];
+            int[] newStamps = new int[length];
+            System.arraycopy(modifications, 0, newModifications, 0, modifications.length);
+            System.arraycopy(stamps, 0, newStamps, 0, stamps.length);
+            modifications = newModifications;
+            stamps = newStamps;
+        }
+        if(stamps[world] != stamp) {
+            stamps[world] = stamp;
+            modifications[world] = 0;
+        }
+        return world;
+    }
+
+    @Override
+    public void removeValue(IntVar var, int val, ICause cause) {
+        onModification(cause, 1);
+    }
+
+    @Override
+    public void updateLowerBound(IntVar var, int value, int old, ICause cause) {
+        onModification(cause, value - old);
+    }
+
+    @Override
+    public void updateUpperBound(IntVar var, int value, int old, ICause cause) {
+        onModification(cause, old - value);
+    }
+
+    @Override
+    public void instantiateTo(IntVar var, int val, ICause cause, int oldLB, int oldUB) {
+        onModification(cause, oldUB - oldLB);
+    }
+
+    @Override
+    public void onContradiction(ContradictionException cex) {
+        counters(cex.c)[CONTRADICTIONS]++;
+    }
+
+    @Override
+    public void afterOpenNode() {
+        currentWorld();
+        long time = System.nanoTime();
+        if(time - lastSampleTime >= periodInNanoseconds) {
+            printSample(time);
+        }
+    }
+
+    /**
+     * Returns the number of domain modifications on the current branch of the search.
+     */
+    private long trail() {
+        int world = currentWorld();
+        long trail = 0;
+        for(int w = 0; w <= world; w++) {
+            trail += modifications[w];
+        }
+        return trail;
+    }
+
+    private void printSample(long time) {
+        long nodes = solver.getNodeCount();
+        boolean hasBounds = solver.getObjectiveManager().isOptimization();
+        out.println("{\"type\":\"sample\""
+            + ",\"time\":" + solver.getTimeCountInNanoSeconds() / 1000000
+            + ",\"nodes\":" + nodes
+            + ",\"nodesPerSecond\":" + (nodes - lastSampleNodes) * 1000000000 / Math.max(1, time - lastSampleTime)
+            + ",\"depth\":" + solver.getCurrentDepth()
+            + ",\"fails\":" + solver.getFailCount()
+            + ",\"solutions\":" + solver.getSolutionCount()
+            + ",\"lb\":" + (hasBounds ? solver.getObjectiveManager().getBestLB() : "null")
+            + ",\"ub\":" + (hasBounds ? solver.getObjectiveManager().getBestUB() : "null")
+            + ",\"trail\":" + trail()
+            + "}");
+        lastSampleTime = time;
+        lastSampleNodes = nodes;
+    }
+
+    private static String name(Class<?> clazz) {
+        // anonymous classes, such as the ones of lambdas, do not have a simple name
+        return clazz.getSimpleName().isEmpty() ? clazz.getName() : clazz.getSimpleName();
+    }
+
+    /**
+     * Prints a last sample of the search, and one line per class of cause with its number of calls and its cumulative
+     * time in milliseconds (null if it is not measured), its number of values removed and of contradictions.
+     */
+    public void printSummary() {
+        printSample(System.nanoTime());
+        for(Map.Entry<Class<?>, long[]> entry : counters.entrySet()) {
+            long[] c = entry.getValue();
+            out.println("{\"type\":\"cause\""
+                + ",\"class\":\"" + name(entry.getKey()) + "\""
+                + ",\"calls\":" + (c[CALLS] == -1 ? "null" : Long.toString(c[CALLS]))
+                + ",\"time\":" + (c[TIME] == -1 ? "null" : Double.toString(c[TIME] / 1000000.0))
+                + ",\"removed\":" + c[REMOVED]
+                + ",\"contradictions\":" + c[CONTRADICTIONS]
+                + "}");
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package constraint;
+
+import data.InstanceUETUCT;
+import java.util.Random;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ParallelPortfolio;
+import org.chocosolver.solver.Solver;
+
+/**
+ * Parallel portfolio racing the different configurations of {@link UETUCTModel} on the same instance. The first models
+ * are the NAIVE, ORDER and ORDER_ADAPTED ones, and the following ones alternate between ORDER and ORDER_ADAPTED with
+ * randomly broken ties in their value selection. Each time a model finds a better solution, the makespan upper bound
+ * of every other model is tightened.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+public class PortfolioUETUCT {
+    private static final ConfigurationUETUCT[] CONFIGURATIONS = new ConfigurationUETUCT[]{
+        ConfigurationUETUCT.ORDER, ConfigurationUETUCT.ORDER_ADAPTED, ConfigurationUETUCT.NAIVE
+    };
+    /**
+     * Number of base configurations, i.e. of models of a portfolio built with nbModels at most this number. Each model
+     * runs in its own thread.
+     */
+    public static final int NB_BASE_MODELS = CONFIGURATIONS.length;
+
+    private final ParallelPortfolio portfolio;
+
+    public PortfolioUETUCT(InstanceUETUCT instance, boolean withDuplication, int nbModels) {
+        this.portfolio = new ParallelPortfolio(false);
+        int nb = Math.max(CONFIGURATIONS.length, nbModels);
+        for(int i = 0; i < nb; i++) {
+            Random random = null;
+            ConfigurationUETUCT configuration;
+            if(i < CONFIGURATIONS.length) {
+                configuration = CONFIGURATIONS[i];
+            } else {
+                configuration = CONFIGURATIONS[i % 2];
+                random = new Random(i);
+            }
+            portfolio.addModel(new UETUCTModel(instance, configuration, withDuplication, random).getModel());
+        }
+    }
+
+    public ParallelPortfolio getPortfolio() {
+        return portfolio;
+    }
+
+    /**
+     * Limits the solving time of every model of the portfolio.
+     *
+     * @param timeLimitInMilliseconds the time limit in milliseconds
+     */
+    public void limitTime(long timeLimitInMilliseconds) {
+        for(Model model : portfolio.getModels()) {
+            model.getSolver().limitTime(timeLimitInMilliseconds);
+        }
+    }
+
+    /**
+     * Returns the solver of the model that found the best solution so far, or the solver of the first model if no
+     * solution has been found yet.
+     *
+     * @return the solver of the best model
+     */
+    public Solver getBestSolver() {
+        Model best = portfolio.getBestModel();
+        return (best != null ? best : portfolio.getModels().get(0)).getSolver();
+    }
+}
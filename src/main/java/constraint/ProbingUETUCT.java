@@ -0,0 +1,239 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package constraint;
+
+import data.Factory;
+import data.InstanceUETUCT;
+import java.util.Arrays;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+
+/**
+ * Looks for the optimal makespan bottom-up, instead of tightening the makespan of the solutions found top-down : each
+ * makespan from the lower bound upwards is probed by a separate feasibility search, whose model only contains the
+ * schedules of at most this makespan (see {@link UETUCTModel#UETUCTModel(InstanceUETUCT, ConfigurationUETUCT, boolean,
+ * boolean, java.util.Random, int)}), and so smaller domains. The probes run concurrently on a bounded pool of workers,
+ * in increasing order of makespan. A probe is stopped as soon as a schedule of at most its makespan is found by
+ * another one, and the race ends as soon as the smallest makespan of the schedules found is the smallest one that
+ * has not been proved infeasible. It pays off when the optimal makespan is close to the lower bound, as the proof of
+ * optimality of the top-down search is then the most expensive part.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+public class ProbingUETUCT {
+    private final InstanceUETUCT instance;
+    private int[] starts;
+    private boolean[][] assignments;
+    private int makespan;
+    // time at which the best schedule was found, as given by System.nanoTime()
+    private long foundAt;
+    private int lowerBound;
+    private int nbProbes;
+    private long nbNodes;
+    private long nbBacktracks;
+    private long nbFails;
+
+    public ProbingUETUCT(InstanceUETUCT instance) {
+        this.instance = instance;
+    }
+
+    /**
+     * Feasibility search for a schedule of at most a given makespan.
+     */
+    private static class Probe {
+        private final int maxMakespan;
+        private int[] starts;
+        private boolean[][] assignments;
+        private int makespan;
+        // time at which the schedule was found, as given by System.nanoTime()
+        private long foundAt;
+        // true iff no schedule of at most maxMakespan exists
+        private boolean infeasible;
+        private long nbNodes;
+        private long nbBacktracks;
+        private long nbFails;
+
+        private Probe(int maxMakespan) {
+            this.maxMakespan = maxMakespan;
+        }
+
+        private Probe run(InstanceUETUCT instance, ConfigurationUETUCT configuration, long timeLimitInMilliseconds,
+            AtomicInteger best, AtomicBoolean done) {
+            UETUCTModel uetuctModel = new UETUCTModel(instance, configuration, true, false, null, maxMakespan);
+            Solver solver = uetuctModel.getModel().getSolver();
+            solver.limitTime(timeLimitInMilliseconds);
+            // the probe is useless once a schedule of at most its makespan is known
+            solver.addStopCriterion(() -> done.get() || best.get() <= maxMakespan);
+            if(solver.solve()) {
+                foundAt = System.nanoTime();
+                makespan = uetuctModel.getMakespan().getValue();
+                starts = Arrays.stream(uetuctModel.getStarts()).mapToInt(IntVar::getValue).toArray();
+                assignments = new boolean[instance.getN()][instance.getM()];
+                BoolVar[][] vars = uetuctModel.getAssignments();
+                for(int i = 0; i < vars.length; i++) {
+                    for(int k = 0; k < vars[i].length; k++) {
+                        assignments[i][k] = vars[i][k].getValue() == 1;
+                    }
+                }
+            } else {
+                infeasible = !solver.isStopCriterionMet();
+            }
+            nbNodes = solver.getNodeCount();
+            nbBacktracks = solver.getBackTrackCount();
+            nbFails = solver.getFailCount();
+            return this;
+        }
+    }
+
+    /**
+     * Probes the makespans from the lower bound upwards, until the optimal makespan is known or the time limit is
+     * reached. The greedy schedule is the best one until a probe finds a better one.
+     *
+     * @param configuration the configuration of the model of each probe (except PORTFOLIO and LNS)
+     * @param timeLimitInMilliseconds the time limit of the whole race
+     * @param nbWorkers the number of makespans probed at the same time
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public void solve(ConfigurationUETUCT configuration, long timeLimitInMilliseconds, int nbWorkers)
+        throws InterruptedException {
+        if(configuration == ConfigurationUETUCT.PORTFOLIO || configuration == ConfigurationUETUCT.LNS) {
+            throw new UnsupportedOperationException("Configuration ("+configuration+") not supported for probing");
+        }
+        long deadline = System.nanoTime() + timeLimitInMilliseconds * 1000000;
+        GreedyUETUCT greedy = new GreedyUETUCT(instance);
+        starts = greedy.getStarts();
+        assignments = greedy.getAssignments();
+        makespan = greedy.getMakespan();
+        foundAt = System.nanoTime();
+        lowerBound = Math.max(instance.splitMakespanLowerBound(), UETUCTModel.criticalPathLength(instance));
+        nbProbes = 0;
+        AtomicInteger best = new AtomicInteger(makespan);
+        AtomicBoolean done = new AtomicBoolean(false);
+        // infeasible[c - lowerBound] is true iff the makespan c is proved infeasible
+        boolean[] infeasible = new boolean[Math.max(0, makespan - lowerBound)];
+        int first = lowerBound;
+        int next = lowerBound;
+        int nbRunning = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(nbWorkers);
+        CompletionService<Probe> completion = new ExecutorCompletionService<>(executor);
+        try {
+            while(lowerBound < makespan) {
+                // no probe is started once the time limit is reached
+                while(nbRunning < nbWorkers && next < makespan && ScheduleUETUCT.remaining(deadline) > 0) {
+                    Probe probe = new Probe(next++);
+                    long remaining = ScheduleUETUCT.remaining(deadline);
+                    completion.submit(() -> probe.run(instance, configuration, remaining, best, done));
+                    nbRunning++;
+                    nbProbes++;
+                }
+                long remaining = deadline - System.nanoTime();
+                Future<Probe> future = remaining > 0 ? completion.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                if(future == null) {
+                    break;
+                }
+                nbRunning--;
+                Probe probe = future.get();
+                nbNodes += probe.nbNodes;
+                nbBacktracks += probe.nbBacktracks;
+                nbFails += probe.nbFails;
+                if(probe.starts != null && probe.makespan < makespan) {
+                    starts = probe.starts;
+                    assignments = probe.assignments;
+                    makespan = probe.makespan;
+                    foundAt = probe.foundAt;
+                    best.set(makespan);
+                    // the makespans from the one found are not probed anymore
+                    next = Math.min(next, makespan);
+                } else if(probe.infeasible) {
+                    infeasible[probe.maxMakespan - first] = true;
+                    while(lowerBound < makespan && infeasible[lowerBound - first]) {
+                        lowerBound++;
+                    }
+                }
+                // otherwise, the probe was stopped by the time limit or by a schedule found meanwhile by another one
+            }
+        } catch(ExecutionException e) {
+            throw new IllegalStateException("Probe could not be solved", e.getCause());
+        } finally {
+            // the remaining probes are stopped, and their statistics are lost
+            done.set(true);
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        }
+    }
+
+    public int[] getStarts() {
+        return starts;
+    }
+
+    /**
+     * Returns the machines of each task in the best schedule, i.e. assignments[i][k] is true iff a copy of task i is
+     * processed on machine k.
+     *
+     * @return the machines of each task
+     */
+    public boolean[][] getAssignments() {
+        return assignments;
+    }
+
+    public int getMakespan() {
+        return makespan;
+    }
+
+    /**
+     * Returns the smallest makespan which has not been proved infeasible.
+     *
+     * @return the lower bound of the makespan
+     */
+    public int getLowerBound() {
+        return lowerBound;
+    }
+
+    public boolean isOptimal() {
+        return makespan == lowerBound;
+    }
+
+    /**
+     * Returns the number of makespans probed, including the ones that were stopped.
+     *
+     * @return the number of probes
+     */
+    public int getNbProbes() {
+        return nbProbes;
+    }
+
+    /**
+     * Usage : ConfigurationName timeLimitInMinutes pathToInstanceFile [nbWorkers]
+     * The final line has the same format as the one of {@link UETUCTModel#main(String[])}, the counters being summed
+     * over the completed probes, followed by the lower bound, the number of probes and by whether the schedule is
+     * proved optimal. The time to best is the time at which the probe of the best schedule found it, or the one of the
+     * greedy schedule if no probe found a better one.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        ConfigurationUETUCT configuration = ConfigurationUETUCT.valueOf(args[0]);
+        long timeLimitInMilliseconds = Long.parseLong(args[1]) * 60000;
+        InstanceUETUCT instance = Factory.readInstance(args[2]);
+        int nbWorkers = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        long start = System.nanoTime();
+        ProbingUETUCT probing = new ProbingUETUCT(instance);
+        probing.solve(configuration, timeLimitInMilliseconds, nbWorkers);
+        long time = (System.nanoTime() - start) / 1000000;
+        long timeToBest = (probing.foundAt - start) / 1000000;
+        System.out.println(instance.getName() + ";" + time + ";" + timeToBest + ";" + probing.getMakespan() + ";"
+            + probing.nbNodes + ";" + probing.nbBacktracks + ";" + probing.nbFails + ";"
+            + probing.getLowerBound() + ";" + probing.getNbProbes() + ";" + probing.isOptimal() + ";");
+    }
+}
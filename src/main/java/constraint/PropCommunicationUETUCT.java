@@ -0,0 +1,259 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package constraint;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.util.ESat;
+
+/**
+ * Propagator for the communication delays of a task of the UET-UCT with its successors. A successor s of task i is a
+ * direct successor if it starts right after i, i.e. start[s] = start[i] + 1. The propagator enforces that :
+ * - each successor starts after i ;
+ * - a direct successor is only processed on machines on which i is processed as well ;
+ * - i is processed on at least as many machines as it has direct successors.
+ * It replaces the reified decomposition of these rules, without any auxiliary variable.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+public class PropCommunicationUETUCT extends Propagator<IntVar> implements MetricsUETUCT.Measured {
+    private final int m;
+    private final int nbSucc;
+    private MetricsUETUCT metrics;
+
+    /**
+     * The variables are ordered as follows : start[i], assignments[i][0..m-1], and then, for each successor s,
+     * start[s], assignments[s][0..m-1].
+     *
+     * @param task the index of task i
+     * @param starts the starts of the tasks
+     * @param assignments the assignments of the tasks
+     * @param successors the successors of task i
+     */
+    public PropCommunicationUETUCT(int task, IntVar[] starts, BoolVar[][] assignments, int[] successors) {
+        super(buildScope(task, starts, assignments, successors), PropagatorPriority.LINEAR, true);
+        this.m = assignments[task].length;
+        this.nbSucc = successors.length;
+    }
+
+    private static IntVar[] buildScope(int task, IntVar[] starts, BoolVar[][] assignments, int[] successors) {
+        int m = assignments[task].length;
+        IntVar[] scope = new IntVar[(successors.length + 1) * (m + 1)];
+        int idx = 0;
+        for(int s = -1; s < successors.length; s++) {
+            int t = s == -1 ? task : successors[s];
+            scope[idx++] = starts[t];
+            for(int j = 0; j < m; j++) {
+                scope[idx++] = assignments[t][j];
+            }
+        }
+        return scope;
+    }
+
+    private IntVar start() {
+        return vars[0];
+    }
+
+    private IntVar assignment(int j) {
+        return vars[1 + j];
+    }
+
+    private IntVar succStart(int s) {
+        return vars[(s + 1) * (m + 1)];
+    }
+
+    private IntVar succAssignment(int s, int j) {
+        return vars[(s + 1) * (m + 1) + 1 + j];
+    }
+
+    @Override
+    public int getPropagationConditions(int vIdx) {
+        if(vIdx % (m + 1) == 0) {
+            return IntEventType.all();
+        } else {
+            return IntEventType.instantiation();
+        }
+    }
+
+    /**
+     * Returns true iff successor s is necessarily a direct successor of task i.
+     */
+    private boolean isDirect(int s) {
+        return start().isInstantiated() && succStart(s).isInstantiatedTo(start().getValue() + 1);
+    }
+
+    /**
+     * Returns true iff successor s can still be a direct successor of task i, i.e. if their start domains allow it and
+     * if s is not processed on a machine on which i is not processed.
+     */
+    private boolean canBeDirect(int s) {
+        IntVar start = start();
+        IntVar succStart = succStart(s);
+        if(succStart.getUB() < start.getLB() + 1 || succStart.getLB() > start.getUB() + 1
+            || start.isInstantiated() && !succStart.contains(start.getValue() + 1)
+            || succStart.isInstantiated() && !start.contains(succStart.getValue() - 1)) {
+            return false;
+        }
+        for(int j = 0; j < m; j++) {
+            if(assignment(j).isInstantiatedTo(0) && succAssignment(s, j).isInstantiatedTo(1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Forbids successor s to be a direct successor of task i.
+     */
+    private void forbidDirect(int s) throws ContradictionException {
+        if(start().isInstantiated()) {
+            succStart(s).removeValue(start().getValue() + 1, this);
+        }
+        if(succStart(s).isInstantiated()) {
+            start().removeValue(succStart(s).getValue() - 1, this);
+        }
+    }
+
+    /**
+     * Filters the precedence between task i and successor s and, if s is a direct successor, its machines.
+     */
+    private void filterSuccessor(int s) throws ContradictionException {
+        succStart(s).updateLowerBound(start().getLB() + 1, this);
+        start().updateUpperBound(succStart(s).getUB() - 1, this);
+        if(isDirect(s)) {
+            for(int j = 0; j < m; j++) {
+                if(succAssignment(s, j).isInstantiatedTo(1)) {
+                    assignment(j).instantiateTo(1, this);
+                } else if(assignment(j).isInstantiatedTo(0)) {
+                    succAssignment(s, j).instantiateTo(0, this);
+                }
+            }
+        } else if(!canBeDirect(s)) {
+            forbidDirect(s);
+        }
+    }
+
+    /**
+     * Filters the number of machines on which task i is processed with respect to its number of direct successors.
+     */
+    private void filterCopies() throws ContradictionException {
+        int nbDirect = 0;
+        for(int s = 0; s < nbSucc; s++) {
+            if(isDirect(s)) {
+                nbDirect++;
+            }
+        }
+        int nbMachines = 0;
+        for(int j = 0; j < m; j++) {
+            if(!assignment(j).isInstantiatedTo(0)) {
+                nbMachines++;
+            }
+        }
+        if(nbDirect > nbMachines) {
+            fails();
+        } else if(nbDirect == nbMachines) {
+            // each possible machine of i is needed, and no other successor can be a direct one
+            for(int j = 0; j < m; j++) {
+                if(!assignment(j).isInstantiated()) {
+                    assignment(j).instantiateTo(1, this);
+                }
+            }
+            for(int s = 0; s < nbSucc; s++) {
+                if(!isDirect(s)) {
+                    forbidDirect(s);
+                }
+            }
+        }
+    }
+
+    /**
+     * Filters all the successors until the domain of the start of task i does not change anymore.
+     */
+    private void filterAll() throws ContradictionException {
+        int lb;
+        int ub;
+        int size;
+        do {
+            lb = start().getLB();
+            ub = start().getUB();
+            size = start().getDomainSize();
+            for(int s = 0; s < nbSucc; s++) {
+                filterSuccessor(s);
+            }
+            filterCopies();
+        } while(lb != start().getLB() || ub != start().getUB() || size != start().getDomainSize());
+    }
+
+    @Override
+    public void setMetrics(MetricsUETUCT metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        if(metrics == null) {
+            filterAll();
+        } else {
+            metrics.measure(this, this::filterAll);
+        }
+    }
+
+    @Override
+    public void propagate(int idxVarInProp, int mask) throws ContradictionException {
+        if(metrics == null) {
+            filterFrom(idxVarInProp);
+        } else {
+            metrics.measure(this, () -> filterFrom(idxVarInProp));
+        }
+    }
+
+    /**
+     * Filters from the modification of the variable at the given index.
+     */
+    private void filterFrom(int idxVarInProp) throws ContradictionException {
+        int s = idxVarInProp / (m + 1) - 1;
+        if(s == -1) {
+            filterAll();
+        } else {
+            int size = start().getDomainSize();
+            filterSuccessor(s);
+            filterCopies();
+            if(size != start().getDomainSize()) {
+                filterAll();
+            }
+        }
+    }
+
+    @Override
+    public ESat isEntailed() {
+        if(!isCompletelyInstantiated()) {
+            return ESat.UNDEFINED;
+        }
+        int nbDirect = 0;
+        for(int s = 0; s < nbSucc; s++) {
+            if(succStart(s).getValue() <= start().getValue()) {
+                return ESat.FALSE;
+            }
+            if(isDirect(s)) {
+                nbDirect++;
+                for(int j = 0; j < m; j++) {
+                    if(succAssignment(s, j).getValue() > assignment(j).getValue()) {
+                        return ESat.FALSE;
+                    }
+                }
+            }
+        }
+        int nbMachines = 0;
+        for(int j = 0; j < m; j++) {
+            nbMachines += assignment(j).getValue();
+        }
+        return nbDirect <= nbMachines ? ESat.TRUE : ESat.FALSE;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package constraint;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.util.ESat;
+
+/**
+ * Propagator for the precedences between the indexes of the tasks in the order : each task is ordered after all its
+ * ancestors, i.e. indexes[a] < indexes[i]. Only the precedences of the transitive reduction of the precedence graph
+ * are given, the other ones being implied. Each modification of a bound is propagated along the paths of the reduced
+ * graph, so that indexes[i] >= indexes[a] + 1 (and even the length of the longest path from a to i) holds for each
+ * ancestor a of i, as with one binary constraint per pair of ancestors.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+public class PropIndexPrecedencesUETUCT extends Propagator<IntVar> implements MetricsUETUCT.Measured {
+    private final int[][] succ;
+    private final int[][] pred;
+
+    // tasks whose bound has been modified by this propagator and remains to be propagated, as it is not notified of
+    // its own modifications : each task is at most once in the stack, whatever the precedences given
+    private final int[] stack;
+    private final boolean[] inStack;
+    private MetricsUETUCT metrics;
+
+    /**
+     * @param indexes the index of each task in the order
+     * @param succ the successors of each task in the transitive reduction of the precedence graph (any acyclic graph
+     *             with the same transitive closure is accepted, but the transitive precedences are useless)
+     */
+    public PropIndexPrecedencesUETUCT(IntVar[] indexes, int[][] succ) {
+        super(indexes, PropagatorPriority.LINEAR, true);
+        int n = indexes.length;
+        this.succ = succ;
+        int[] nbPred = new int[n];
+        for(int[] links : succ) {
+            for(int s : links) {
+                nbPred[s]++;
+            }
+        }
+        this.pred = new int[n][];
+        for(int i = 0; i < n; i++) {
+            pred[i] = new int[nbPred[i]];
+            nbPred[i] = 0;
+        }
+        for(int i = 0; i < n; i++) {
+            for(int s : succ[i]) {
+                pred[s][nbPred[s]++] = i;
+            }
+        }
+        this.stack = new int[n];
+        this.inStack = new boolean[n];
+    }
+
+    @Override
+    public int getPropagationConditions(int vIdx) {
+        return IntEventType.boundAndInst();
+    }
+
+    @Override
+    public void setMetrics(MetricsUETUCT metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Propagates the lower bound of the index of task i to its descendants.
+     */
+    private void forward(int i) throws ContradictionException {
+        int size = 0;
+        stack[size++] = i;
+        inStack[i] = true;
+        try {
+            while(size > 0) {
+                int t = stack[--size];
+                inStack[t] = false;
+                for(int s : succ[t]) {
+                    if(vars[s].updateLowerBound(vars[t].getLB() + 1, this) && !inStack[s]) {
+                        stack[size++] = s;
+                        inStack[s] = true;
+                    }
+                }
+            }
+        } finally {
+            // the tasks left by a failure are not in the stack of the next propagation
+            while(size > 0) {
+                inStack[stack[--size]] = false;
+            }
+        }
+    }
+
+    /**
+     * Propagates the upper bound of the index of task i to its ancestors.
+     */
+    private void backward(int i) throws ContradictionException {
+        int size = 0;
+        stack[size++] = i;
+        inStack[i] = true;
+        try {
+            while(size > 0) {
+                int t = stack[--size];
+                inStack[t] = false;
+                for(int p : pred[t]) {
+                    if(vars[p].updateUpperBound(vars[t].getUB() - 1, this) && !inStack[p]) {
+                        stack[size++] = p;
+                        inStack[p] = true;
+                    }
+                }
+            }
+        } finally {
+            // the tasks left by a failure are not in the stack of the next propagation
+            while(size > 0) {
+                inStack[stack[--size]] = false;
+            }
+        }
+    }
+
+    private void filterAll() throws ContradictionException {
+        for(int i = 0; i < vars.length; i++) {
+            if(pred[i].length == 0) {
+                forward(i);
+            }
+            if(succ[i].length == 0) {
+                backward(i);
+            }
+        }
+    }
+
+    private void filterFrom(int idxVarInProp, int mask) throws ContradictionException {
+        if(IntEventType.isInclow(mask) || IntEventType.isInstantiate(mask)) {
+            forward(idxVarInProp);
+        }
+        if(IntEventType.isDecupp(mask) || IntEventType.isInstantiate(mask)) {
+            backward(idxVarInProp);
+        }
+    }
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        if(metrics == null) {
+            filterAll();
+        } else {
+            metrics.measure(this, this::filterAll);
+        }
+    }
+
+    @Override
+    public void propagate(int idxVarInProp, int mask) throws ContradictionException {
+        if(metrics == null) {
+            filterFrom(idxVarInProp, mask);
+        } else {
+            metrics.measure(this, () -> filterFrom(idxVarInProp, mask));
+        }
+    }
+
+    @Override
+    public ESat isEntailed() {
+        boolean entailed = true;
+        for(int i = 0; i < vars.length; i++) {
+            for(int s : succ[i]) {
+                if(vars[i].getLB() >= vars[s].getUB()) {
+                    return ESat.FALSE;
+                }
+                entailed &= vars[i].getUB() < vars[s].getLB();
+            }
+        }
+        return entailed ? ESat.TRUE : ESat.UNDEFINED;
+    }
+}
@@ -0,0 +1,250 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package constraint;
+
+import gnu.trove.list.array.TIntArrayList;
+import java.util.Arrays;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateBitSet;
+import org.chocosolver.memory.IStateIntVector;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.util.ESat;
+import org.chocosolver.util.tools.ArrayUtils;
+
+/**
+ * Propagator for the resource constraint of the UET-UCT : each machine processes at most one task at a time, so at most
+ * m copies of tasks are processed at the same time, each task having at least one copy. As all the tasks have a unit
+ * duration, the occupation of each machine at each time is stored in a trailed grid, which is only updated when a task
+ * has both its start and one of its machines fixed. The number of machines known to be used at each time counts the
+ * copies in the grid, and one machine for each task starting then without any copy in the grid yet : when it reaches
+ * m, no other task can start then, and the tasks starting then cannot have more copies.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+public class PropMachinesUETUCT extends Propagator<IntVar> implements MetricsUETUCT.Measured {
+    private static final int IDLE = -1;
+    private final IntVar[] starts;
+    private final BoolVar[][] assignments;
+    private final int n;
+    private final int m;
+
+    // task processed on each machine at each time, or IDLE : the one on machine k at time t is at t * m + k
+    private final IStateIntVector occupant;
+    // number of machines known to be used at each time
+    private final IStateIntVector nbUsed;
+    // number of copies of each task in the grid
+    private final IStateIntVector nbCopies;
+    // tasks whose start is counted in nbUsed
+    private final IStateBitSet isCounted;
+
+    // tasks whose start has been instantiated by this propagator, which is not notified of its own events
+    private final TIntArrayList toFix = new TIntArrayList();
+
+    private MetricsUETUCT metrics;
+
+    public PropMachinesUETUCT(IntVar[] starts, BoolVar[][] assignments) {
+        super(ArrayUtils.append(starts, ArrayUtils.flatten(assignments)), PropagatorPriority.LINEAR, true);
+        this.starts = starts;
+        this.assignments = assignments;
+        this.n = starts.length;
+        this.m = assignments[0].length;
+        int horizon = Arrays.stream(starts).mapToInt(IntVar::getUB).max().getAsInt() + 1;
+        IEnvironment environment = getModel().getEnvironment();
+        this.occupant = environment.makeIntVector(horizon * m, IDLE);
+        this.nbUsed = environment.makeIntVector(horizon, 0);
+        this.nbCopies = environment.makeIntVector(n, 0);
+        this.isCounted = environment.makeBitSet(n);
+    }
+
+    @Override
+    public int getPropagationConditions(int vIdx) {
+        return IntEventType.instantiation();
+    }
+
+    private void removeStart(int i, int t) throws ContradictionException {
+        if(starts[i].isInstantiated()) {
+            if(starts[i].getValue() == t) {
+                fails();
+            }
+        } else if(starts[i].removeValue(t, this) && starts[i].isInstantiated()) {
+            toFix.add(i);
+        }
+    }
+
+    /**
+     * Adds nb machines to the ones known to be used at time t. When all of them are, t is removed from the starts of
+     * the tasks which do not use any of them, and the free machines from the tasks starting at t with a copy in the
+     * grid : a task starting at t without any copy in the grid uses one of the free machines.
+     */
+    private void use(int t, int nb) throws ContradictionException {
+        int used = nbUsed.quickGet(t) + nb;
+        if(used > m) {
+            fails();
+        }
+        nbUsed.quickSet(t, used);
+        if(used == m) {
+            for(int l = 0; l < n; l++) {
+                if(nbCopies.quickGet(l) == 0) {
+                    if(!isCounted.get(l)) {
+                        removeStart(l, t);
+                    }
+                } else if(starts[l].isInstantiatedTo(t)) {
+                    for(int k = 0; k < m; k++) {
+                        if(!assignments[l][k].isInstantiated() && occupant.quickGet(t * m + k) == IDLE) {
+                            assignments[l][k].instantiateTo(0, this);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Records that task i starts at time t on machine k, and removes t from the starts of the other tasks processed on
+     * k, or k from the machines of the other tasks starting at t.
+     */
+    private void occupy(int k, int t, int i) throws ContradictionException {
+        int task = occupant.quickGet(t * m + k);
+        if(task == i) {
+            return;
+        } else if(task != IDLE) {
+            fails();
+        }
+        occupant.quickSet(t * m + k, i);
+        int copies = nbCopies.quickGet(i) + 1;
+        nbCopies.quickSet(i, copies);
+        // the first copy of a counted task takes the machine it was counted for
+        use(t, copies == 1 && isCounted.get(i) ? 0 : 1);
+        for(int l = 0; l < n; l++) {
+            if(l != i) {
+                if(assignments[l][k].isInstantiatedTo(1)) {
+                    removeStart(l, t);
+                } else if(!assignments[l][k].isInstantiated() && starts[l].isInstantiatedTo(t)) {
+                    assignments[l][k].instantiateTo(0, this);
+                }
+            }
+        }
+    }
+
+    /**
+     * Filters from the instantiation of the start of task i.
+     */
+    private void fixStart(int i) throws ContradictionException {
+        int t = starts[i].getValue();
+        if(!isCounted.get(i)) {
+            isCounted.set(i);
+            // the copies of i already in the grid are already counted
+            use(t, nbCopies.quickGet(i) == 0 ? 1 : 0);
+        }
+        for(int k = 0; k < m; k++) {
+            if(assignments[i][k].isInstantiatedTo(1)) {
+                occupy(k, t, i);
+            } else if(!assignments[i][k].isInstantiated() && occupant.quickGet(t * m + k) != IDLE) {
+                assignments[i][k].instantiateTo(0, this);
+            }
+        }
+    }
+
+    /**
+     * Filters from the assignment of task i to machine k.
+     */
+    private void fixAssignment(int i, int k) throws ContradictionException {
+        if(starts[i].isInstantiated()) {
+            occupy(k, starts[i].getValue(), i);
+        } else {
+            int ub = starts[i].getUB();
+            for(int t = starts[i].getLB(); t <= ub; t = starts[i].nextValue(t)) {
+                if(occupant.quickGet(t * m + k) != IDLE) {
+                    removeStart(i, t);
+                }
+            }
+        }
+    }
+
+    private void fixPending() throws ContradictionException {
+        while(!toFix.isEmpty()) {
+            int i = toFix.removeAt(toFix.size() - 1);
+            fixStart(i);
+        }
+    }
+
+    @Override
+    public void setMetrics(MetricsUETUCT metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        if(metrics == null) {
+            filterAll();
+        } else {
+            metrics.measure(this, this::filterAll);
+        }
+    }
+
+    @Override
+    public void propagate(int idxVarInProp, int mask) throws ContradictionException {
+        if(metrics == null) {
+            filterFrom(idxVarInProp);
+        } else {
+            metrics.measure(this, () -> filterFrom(idxVarInProp));
+        }
+    }
+
+    private void filterAll() throws ContradictionException {
+        toFix.clear();
+        for(int i = 0; i < n; i++) {
+            if(starts[i].isInstantiated()) {
+                fixStart(i);
+            }
+        }
+        for(int i = 0; i < n; i++) {
+            for(int k = 0; k < m; k++) {
+                if(assignments[i][k].isInstantiatedTo(1)) {
+                    fixAssignment(i, k);
+                }
+            }
+        }
+        fixPending();
+    }
+
+    /**
+     * Filters from the instantiation of the variable at the given index.
+     */
+    private void filterFrom(int idxVarInProp) throws ContradictionException {
+        toFix.clear();
+        if(idxVarInProp < n) {
+            fixStart(idxVarInProp);
+        } else if(vars[idxVarInProp].getValue() == 1) {
+            fixAssignment((idxVarInProp - n) / m, (idxVarInProp - n) % m);
+        }
+        fixPending();
+    }
+
+    @Override
+    public ESat isEntailed() {
+        if(!isCompletelyInstantiated()) {
+            return ESat.UNDEFINED;
+        }
+        for(int i = 0; i < n; i++) {
+            for(int l = i + 1; l < n; l++) {
+                if(starts[i].getValue() == starts[l].getValue()) {
+                    for(int k = 0; k < m; k++) {
+                        if(assignments[i][k].getValue() == 1 && assignments[l][k].getValue() == 1) {
+                            return ESat.FALSE;
+                        }
+                    }
+                }
+            }
+        }
+        return ESat.TRUE;
+    }
+}
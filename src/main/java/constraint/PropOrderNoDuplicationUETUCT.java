@@ -0,0 +1,240 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package constraint;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateBitSet;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.memory.IStateIntVector;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.util.ESat;
+import org.chocosolver.util.tools.ArrayUtils;
+
+/**
+ * Propagator for the Order constraint of the UET-UCT without duplication, where each task is processed exactly once :
+ * a successor of task i can only start right after i on the machine of i, and otherwise one time unit later on any
+ * machine. The tasks are placed in the order given by the order variables, each one at the earliest time at which it
+ * fits in the schedule of the tasks placed before it, as with {@link PropOrderUETUCT}.
+ *
+ * Unlike with duplication, the machine on which a task is placed matters for its successors, so it is not fixed by
+ * the propagator when several machines allow the earliest time : it is left to the search, which has to choose it
+ * before the next task can be placed. Any schedule can be turned into one in which each task, taken by increasing
+ * start, starts at the earliest time on one of these machines, so this does not lose any optimal schedule. The
+ * machines on which no task is placed yet are interchangeable, so only the first of them is considered.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+public class PropOrderNoDuplicationUETUCT extends Propagator<IntVar> implements MetricsUETUCT.Measured {
+    private static final int IDLE = -1;
+    private final IntVar[] order;
+    private final IntVar[] starts;
+    private final BoolVar[][] assignments;
+    private final int[][] predecessors;
+    private final int[][] successors;
+    private final int nbMachines;
+    private final int horizon;
+
+    private final IStateInt idxCurrentOrder;
+    private final IStateBitSet isOrdered;
+    private final IStateIntVector nbUnorderedPred;
+    // task placed on each machine at each time, or IDLE : the one on machine k at time t is at t * m + k
+    private final IStateIntVector machines;
+    // the placed tasks only use the first nbUsedMachines machines
+    private final IStateInt nbUsedMachines;
+    // machine of each placed task, only relevant for the placed ones
+    private final int[] machineOf;
+    // earliest start of the last evaluated task on each machine, or -1 if it cannot be placed on it
+    private final int[] earliestOn;
+
+    private MetricsUETUCT metrics;
+
+    public PropOrderNoDuplicationUETUCT(IntVar[] order, IntVar[] starts, BoolVar[][] assignments,
+        int[][] predecessors, int[][] successors) {
+        super(ArrayUtils.append(order, starts, ArrayUtils.flatten(assignments)), PropagatorPriority.QUADRATIC, false);
+        this.order = order;
+        this.starts = starts;
+        this.assignments = assignments;
+        this.predecessors = predecessors;
+        this.successors = successors;
+        IEnvironment environment = getModel().getEnvironment();
+        int n = starts.length;
+        this.nbMachines = assignments[0].length;
+        // time slots after the latest possible start are never occupied
+        int max = 0;
+        for(IntVar start : starts) {
+            max = Math.max(max, start.getUB());
+        }
+        this.horizon = max + 1;
+        this.idxCurrentOrder = environment.makeInt(0);
+        this.isOrdered = environment.makeBitSet(n);
+        this.nbUnorderedPred = environment.makeIntVector(n, 0);
+        for(int i = 0; i < n; i++) {
+            this.nbUnorderedPred.quickSet(i, predecessors[i].length);
+        }
+        this.machines = environment.makeIntVector(horizon * nbMachines, IDLE);
+        this.nbUsedMachines = environment.makeInt(0);
+        this.machineOf = new int[n];
+        this.earliestOn = new int[nbMachines];
+    }
+
+    @Override
+    public int getPropagationConditions(int vIdx) {
+        if(vIdx >= order.length && vIdx < order.length + starts.length) {
+            return IntEventType.all();
+        } else {
+            return IntEventType.instantiation();
+        }
+    }
+
+    private void updateIdxCurrentOrder() {
+        int idx = idxCurrentOrder.get();
+        while(idx < order.length && order[idx].isInstantiated() && isOrdered.get(order[idx].getValue())) {
+            idx++;
+        }
+        idxCurrentOrder.set(idx);
+        if(idx == order.length) {
+            setPassive();
+        }
+    }
+
+    /**
+     * Computes the earliest start of task v on each machine, stored in earliestOn, in the schedule of the placed tasks,
+     * all the predecessors of v being placed.
+     *
+     * @param v the task
+     * @return the earliest start of v on any machine, or Integer.MAX_VALUE if it cannot be placed before the horizon
+     */
+    private int evaluate(int v) {
+        int nbCandidates = Math.min(nbUsedMachines.get() + 1, nbMachines);
+        int earliest = Integer.MAX_VALUE;
+        for(int k = 0; k < nbMachines; k++) {
+            earliestOn[k] = -1;
+            if(k < nbCandidates) {
+                int t = 0;
+                for(int p : predecessors[v]) {
+                    t = Math.max(t, starts[p].getValue() + (machineOf[p] == k ? 1 : 2));
+                }
+                while(t < horizon && machines.quickGet(t * nbMachines + k) != IDLE) {
+                    t++;
+                }
+                if(t < horizon) {
+                    earliestOn[k] = t;
+                    earliest = Math.min(earliest, t);
+                }
+            }
+        }
+        return earliest;
+    }
+
+    /**
+     * Returns true iff task v, as last evaluated, can start at time t on a machine still allowed by its assignments.
+     */
+    private boolean hasMachine(int v, int t) {
+        for(int k = 0; k < nbMachines; k++) {
+            if(earliestOn[k] == t && !assignments[v][k].isInstantiatedTo(0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void place(int v, int k, int t) {
+        machines.quickSet(t * nbMachines + k, v);
+        machineOf[v] = k;
+        isOrdered.set(v);
+        if(k >= nbUsedMachines.get()) {
+            nbUsedMachines.set(k + 1);
+        }
+        for(int s : successors[v]) {
+            nbUnorderedPred.quickSet(s, nbUnorderedPred.quickGet(s) - 1);
+        }
+    }
+
+    private void filter() throws ContradictionException {
+        while(true) {
+            updateIdxCurrentOrder();
+            int idx = idxCurrentOrder.get();
+            if(idx == order.length) {
+                return;
+            }
+            IntVar current = order[idx];
+            for(int v = current.getLB(); v <= current.getUB(); v = current.nextValue(v)) {
+                if(nbUnorderedPred.quickGet(v) > 0) {
+                    current.removeValue(v, this);
+                } else {
+                    int t = evaluate(v);
+                    if(t == Integer.MAX_VALUE || !starts[v].contains(t) || !hasMachine(v, t)) {
+                        current.removeValue(v, this);
+                    } else {
+                        // the start of v can only be later if it is placed after other tasks
+                        starts[v].updateLowerBound(t, this);
+                    }
+                }
+            }
+            if(!current.isInstantiated()) {
+                return;
+            }
+            int v = current.getValue();
+            int t = evaluate(v);
+            starts[v].instantiateTo(t, this);
+            int machine = -1;
+            int nbPossible = 0;
+            for(int k = 0; k < nbMachines; k++) {
+                if(earliestOn[k] != t) {
+                    assignments[v][k].instantiateTo(0, this);
+                } else if(assignments[v][k].isInstantiatedTo(1)) {
+                    machine = k;
+                } else if(!assignments[v][k].isInstantiated()) {
+                    nbPossible++;
+                    machine = nbPossible == 1 ? k : machine;
+                }
+            }
+            if(machine == -1) {
+                fails();
+            }
+            if(!assignments[v][machine].isInstantiated()) {
+                if(nbPossible > 1) {
+                    // the machine of v is chosen by the search
+                    return;
+                }
+                assignments[v][machine].instantiateTo(1, this);
+            }
+            place(v, machine, t);
+            for(int o = idx + 1; o < order.length; o++) {
+                order[o].removeValue(v, this);
+            }
+        }
+    }
+
+    @Override
+    public void setMetrics(MetricsUETUCT metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        if(metrics == null) {
+            filter();
+        } else {
+            metrics.measure(this, this::filter);
+        }
+    }
+
+    @Override
+    public ESat isEntailed() {
+        for(int i = 0; i < order.length; i++) {
+            if(!order[i].isInstantiated() || !starts[order[i].getValue()].isInstantiated()) {
+                return ESat.UNDEFINED;
+            }
+        }
+        return ESat.TRUE;
+    }
+}
@@ -7,8 +7,10 @@ package constraint;
 
 import gnu.trove.list.array.TIntArrayList;
 import java.util.Arrays;
-import org.chocosolver.memory.IStateBool;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateBitSet;
 import org.chocosolver.memory.IStateInt;
+import org.chocosolver.memory.IStateIntVector;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -24,7 +26,7 @@ import org.chocosolver.util.tools.ArrayUtils;
  *
  * @author Arthur Godet <arth.godet@gmail.com>
  */
-public class PropOrderUETUCT extends Propagator<IntVar> {
+public class PropOrderUETUCT extends Propagator<IntVar> implements MetricsUETUCT.Measured {
     private static final int IDLE = -1;
     protected final IntVar[] order;
     protected final IntVar[] starts;
@@ -33,13 +35,29 @@ public class PropOrderUETUCT extends Propagator<IntVar> {
 
     protected final int min;
 
+    protected final int nbMachines;
+    protected final int horizon;
+
+    // the trailed state is stored in a few primitive arrays rather than in one trailed object per entry, so that its
+    // memory footprint stays small on large instances
     protected final IStateInt idxCurrentOrder;
-    protected final IStateBool[] isOrdered;
-    protected final IStateInt[][] machinesHeur;
-    protected final int[][] machines;
-    protected final IStateInt[] predInDpath;
+    protected final IStateBitSet isOrdered;
+    // tasks placed by the heuristic, indexed by time and machine : the one on machine k at time t is at t * m + k
+    protected final IStateIntVector machinesHeur;
+    // ordered tasks starting at each time, as trailed stacks : only the first nbOrderedAt[t] tasks are relevant
+    protected final int[][] orderedAt;
+    protected final IStateIntVector nbOrderedAt;
+    protected final IStateIntVector predInDpath;
+    protected final int[][] successors;
+    protected final IStateIntVector nbUnorderedPred;
 
     private final TIntArrayList dpath = new TIntArrayList();
+    // heuristic placement of each task, as computed by its last evaluation
+    private final int[] heurStart;
+    private final int[] heurMachine;
+    private final boolean[] heurViaDpath;
+
+    private MetricsUETUCT metrics;
 
     public PropOrderUETUCT(IntVar[] order, IntVar[] starts, BoolVar[][] assignments, int[][] predecessors) {
         super(ArrayUtils.append(order, starts), PropagatorPriority.QUADRATIC, false);
@@ -48,24 +66,50 @@ public class PropOrderUETUCT extends Propagator<IntVar> {
         this.assignments = assignments;
         this.predecessors = predecessors;
 
-        this.isOrdered = new IStateBool[order.length];
+        IEnvironment environment = getModel().getEnvironment();
         int n = starts.length;
-        int m = assignments[0].length;
-        this.machinesHeur = new IStateInt[m][n];
-        this.machines = new int[m][n];
-        this.predInDpath = new IStateInt[n];
-        for(int i = 0; i < isOrdered.length; i++) {
-            this.isOrdered[i] = getModel().getEnvironment().makeBool(false);
-            this.predInDpath[i] = getModel().getEnvironment().makeInt(-1);
-            for(int j = 0; j < m; j++) {
-                this.machinesHeur[j][i] = getModel().getEnvironment().makeInt(IDLE);
-            }
+        this.nbMachines = assignments[0].length;
+        // time slots after the latest possible start are never occupied
+        this.horizon = Arrays.stream(starts).mapToInt(IntVar::getUB).max().getAsInt() + 1;
+        this.isOrdered = environment.makeBitSet(n);
+        this.machinesHeur = environment.makeIntVector(horizon * nbMachines, IDLE);
+        // each ordered task is placed by the heuristic on an idle machine, so at most m of them start at the same time
+        this.orderedAt = new int[horizon][nbMachines];
+        this.nbOrderedAt = environment.makeIntVector(horizon, 0);
+        this.predInDpath = environment.makeIntVector(n, -1);
+        this.nbUnorderedPred = environment.makeIntVector(n, 0);
+        for(int i = 0; i < n; i++) {
+            this.nbUnorderedPred.quickSet(i, predecessors[i].length);
         }
+        this.heurStart = new int[n];
+        this.heurMachine = new int[n];
+        this.heurViaDpath = new boolean[n];
 
-        this.idxCurrentOrder = getModel().getEnvironment().makeInt(0);
+        this.successors = reverse(predecessors);
+        this.idxCurrentOrder = environment.makeInt(0);
         min = Arrays.stream(starts).mapToInt(IntVar::getLB).min().getAsInt();
     }
 
+    private static int[][] reverse(int[][] predecessors) {
+        int[] degree = new int[predecessors.length];
+        for(int[] preds : predecessors) {
+            for(int p : preds) {
+                degree[p]++;
+            }
+        }
+        int[][] successors = new int[predecessors.length][];
+        for(int i = 0; i < predecessors.length; i++) {
+            successors[i] = new int[degree[i]];
+            degree[i] = 0;
+        }
+        for(int i = 0; i < predecessors.length; i++) {
+            for(int p : predecessors[i]) {
+                successors[p][degree[p]++] = i;
+            }
+        }
+        return successors;
+    }
+
     @Override
     public int getPropagationConditions(int vIdx) {
         if(vIdx < order.length) {
@@ -77,7 +121,7 @@ public class PropOrderUETUCT extends Propagator<IntVar> {
 
     protected void updateIdxCurrentOrder() {
         int idx = idxCurrentOrder.get();
-        while(idx < order.length && order[idx].isInstantiated() && isOrdered[order[idx].getValue()].get()) {
+        while(idx < order.length && order[idx].isInstantiated() && isOrdered.get(order[idx].getValue())) {
             idx++;
         }
         idxCurrentOrder.set(idx);
@@ -86,27 +130,61 @@ public class PropOrderUETUCT extends Propagator<IntVar> {
         }
     }
 
-    private void buildSchedule() {
-        for(int i = 0; i < isOrdered.length; i++) {
-            for(int j = 0; j < machinesHeur.length; j++) {
-                this.machines[j][i] = machinesHeur[j][i].get();
+    /**
+     * Records that task i is ordered, with its predecessor in its D-path, and updates the number of unordered
+     * predecessors of its successors. This only touches the time slot at
+     * which i starts and, as the state is trailed, it is undone on backtrack.
+     *
+     * @param i the task that is ordered
+     */
+    private void setOrdered(int i) {
+        isOrdered.set(i);
+        int t = starts[i].getValue();
+        int nb = nbOrderedAt.quickGet(t);
+        orderedAt[t][nb] = i;
+        nbOrderedAt.quickSet(t, nb + 1);
+        for(int j = 0; j < successors[i].length; j++) {
+            int s = successors[i][j];
+            nbUnorderedPred.quickSet(s, nbUnorderedPred.quickGet(s) - 1);
+        }
+        for(int j = 0; j < predecessors[i].length; j++) {
+            if(starts[predecessors[i][j]].getValue() + 1 == t) {
+                predInDpath.quickSet(i, predecessors[i][j]);
+                break;
             }
         }
-        for(int i = 0; i < starts.length; i++) {
-            if(starts[i].isInstantiated() && isOrdered[i].get()) {
-                for(int j = 0; j < machinesHeur.length; j++) {
-                    if(assignments[i][j].isInstantiatedTo(1)) {
-                        machines[j][starts[i].getValue()] = i;
-                    }
-                }
-                for(int j = 0; j < predecessors[i].length; j++) {
-                    if(starts[predecessors[i][j]].isInstantiated() && starts[predecessors[i][j]].getValue() + 1 == starts[i].getValue()) {
-                        this.predInDpath[i].set(predecessors[i][j]);
-                        break;
-                    }
+    }
+
+    /**
+     * Returns the task occupying machine k at time t in the current schedule, i.e. either the task placed there by the
+     * heuristic, or an ordered task starting at t that is assigned to machine k. Returns IDLE if there is none.
+     *
+     * @param k the machine
+     * @param t the time
+     * @return the task occupying machine k at time t, or IDLE
+     */
+    private int machines(int k, int t) {
+        int task = machinesHeur(k, t);
+        if(task == IDLE && t < horizon) {
+            for(int l = nbOrderedAt.quickGet(t) - 1; l >= 0; l--) {
+                if(assignments[orderedAt[t][l]][k].isInstantiatedTo(1)) {
+                    return orderedAt[t][l];
                 }
             }
         }
+        return task;
+    }
+
+    /**
+     * Returns the task placed by the heuristic on machine k at time t, or IDLE if there is none or if t is after the
+     * latest possible start.
+     *
+     * @param k the machine
+     * @param t the time
+     * @return the task placed by the heuristic on machine k at time t, or IDLE
+     */
+    private int machinesHeur(int k, int t) {
+        return t < horizon ? machinesHeur.quickGet(t * nbMachines + k) : IDLE;
     }
 
     private void computeDpath(int var, int start) {
@@ -118,7 +196,7 @@ public class PropOrderUETUCT extends Propagator<IntVar> {
             for(int j = 0; j < predecessors[var].length; j++) {
                 if(starts[predecessors[var][j]].getValue() + 1 == startDpath) {
                     startDpath--;
-                    p = predInDpath[predecessors[var][j]].get();
+                    p = predInDpath.quickGet(predecessors[var][j]);
                     var = predecessors[var][j];
                     dpath.add(var);
                     break;
@@ -127,7 +205,38 @@ public class PropOrderUETUCT extends Propagator<IntVar> {
         } while(p != -1);
     }
 
-    private int minAccValue(int v, boolean heur, boolean inst) throws ContradictionException {
+    /**
+     * Returns the first machine on which the D-path stored in dpath can be placed so that it ends at time t, either in
+     * the heuristic schedule or in the current one, or -1 if there is none.
+     *
+     * @param t the time at which the last task of the D-path would start
+     * @param heur true to consider the heuristic schedule, false for the current one
+     * @return the first machine on which the D-path can be placed, or -1
+     */
+    private int placeDpath(int t, boolean heur) {
+        for(int k = 0; k < nbMachines; k++) {
+            for(int j = 0; j < dpath.size(); j++) {
+                int task = heur ? machinesHeur(k, t-j) : machines(k, t-j);
+                if(task == dpath.getQuick(j) || (task == IDLE && j == dpath.size() - 1)) {
+                    return k; // D-path can be placed from here
+                } else if(task != IDLE) {
+                    break;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Computes, in a single scan of the predecessors and a single D-path computation, the minimum start time of task
+     * v in the current schedule and, if withHeur is true, its start time and machine in the heuristic schedule, which
+     * are stored in heurStart[v], heurMachine[v] and heurViaDpath[v].
+     *
+     * @param v the task
+     * @param withHeur true iff the heuristic placement should be computed as well
+     * @return the minimum start time of v in the current schedule
+     */
+    private int evaluate(int v, boolean withHeur) {
         int m = min;
         int nb = 0;
         for(int i = 0; i < predecessors[v].length; i++) {
@@ -139,111 +248,117 @@ public class PropOrderUETUCT extends Propagator<IntVar> {
                 nb++;
             }
         }
+        int acc = -1;
+        int heur = -1;
         if(nb >= 2) {
             m += 2;
         } else if(nb == 1) {
             m += 1;
             computeDpath(v, m);
-            if(heur) {
-                for(int k = 0; k < machinesHeur.length; k++) {
-                    for(int j = 0; j < dpath.size(); j++) {
-                        if(machinesHeur[k][m-j].get() == dpath.getQuick(j)) {
-                            if(inst) {
-                                for(int l = 0; l < dpath.size(); l++) {
-                                    int task = dpath.getQuick(l);
-                                    assignments[task][k].instantiateTo(1, this);
-                                    machinesHeur[k][starts[task].getValue()].set(task);
-                                }
-                                starts[v].instantiateTo(m, this);
-                            }
-                            return m; // D-path of v can be placed from here
-                        } else if(machinesHeur[k][m-j].get() != IDLE) {
-                            break;
-                        } else if(j == dpath.size() - 1) {
-                            if(inst) {
-                                for(int l = 0; l < dpath.size(); l++) {
-                                    int task = dpath.getQuick(l);
-                                    assignments[task][k].instantiateTo(1, this);
-                                    machinesHeur[k][starts[task].getValue()].set(task);
-                                }
-                                starts[v].instantiateTo(m, this);
-                            }
-                            return m; // D-path of v can be placed from here
-                        }
-                    }
-                }
-            } else {
-                for(int k = 0; k < machines.length; k++) {
-                    for(int j = 0; j < dpath.size(); j++) {
-                        if(machines[k][m-j] == dpath.getQuick(j)) {
-                            return m; // D-path of v can be placed from here
-                        } else if(machines[k][m-j] != IDLE) {
-                            break;
-                        } else if(j == dpath.size() - 1) {
-                            return m; // D-path of v can be placed from here
-                        }
-                    }
+            if(placeDpath(m, false) != -1) {
+                acc = m;
+            }
+            if(withHeur) {
+                int k = placeDpath(m, true);
+                if(k != -1) {
+                    heur = m;
+                    heurMachine[v] = k;
+                    heurViaDpath[v] = true;
                 }
             }
             m++;
         }
-        boolean found;
-        do {
-            found = false;
-            if(heur) {
-                for(int k = 0; k < machinesHeur.length && !found; k++) {
-                    found = machinesHeur[k][m].get() == IDLE;
-                    if(found && inst) {
-                        assignments[v][k].instantiateTo(1, this);
-                        starts[v].instantiateTo(m, this);
-                        machinesHeur[k][m].set(v);
-                    }
+        for(int t = m; acc == -1; t++) {
+            for(int k = 0; k < nbMachines && acc == -1; k++) {
+                if(machines(k, t) == IDLE) {
+                    acc = t;
                 }
-            } else {
-                for(int k = 0; k < machines.length && !found; k++) {
-                    found = machines[k][m] == IDLE;
+            }
+        }
+        for(int t = m; withHeur && heur == -1; t++) {
+            for(int k = 0; k < nbMachines && heur == -1; k++) {
+                if(machinesHeur(k, t) == IDLE) {
+                    heur = t;
+                    heurMachine[v] = k;
+                    heurViaDpath[v] = false;
                 }
             }
-            if(!found) {
-                m++;
+        }
+        heurStart[v] = heur;
+        return acc;
+    }
+
+    /**
+     * Places task v in the heuristic schedule as computed by its last evaluation, with a copy of its D-path if needed.
+     *
+     * @param v the task
+     * @throws ContradictionException if the placement is not consistent with the assignments or the starts
+     */
+    private void place(int v) throws ContradictionException {
+        int t = heurStart[v];
+        int k = heurMachine[v];
+        if(heurViaDpath[v]) {
+            computeDpath(v, t);
+            for(int l = 0; l < dpath.size(); l++) {
+                int task = dpath.getQuick(l);
+                assignments[task][k].instantiateTo(1, this);
+                machinesHeur.quickSet((t - l) * nbMachines + k, task);
             }
-        } while(!found);
-        return m;
+            starts[v].instantiateTo(t, this);
+        } else {
+            assignments[v][k].instantiateTo(1, this);
+            starts[v].instantiateTo(t, this);
+            machinesHeur.quickSet(t * nbMachines + k, v);
+        }
+    }
+
+    @Override
+    public void setMetrics(MetricsUETUCT metrics) {
+        this.metrics = metrics;
     }
 
     @Override
     public void propagate(int evtmask) throws ContradictionException {
+        if(metrics == null) {
+            filter();
+        } else {
+            metrics.measure(this, this::filter);
+        }
+    }
+
+    private void filter() throws ContradictionException {
         do {
             updateIdxCurrentOrder();
             if(idxCurrentOrder.get() == order.length) {
                 return;
             }
-            buildSchedule();
             int idx = idxCurrentOrder.get();
             for(int v = order[idx].getLB(); v <= order[idx].getUB(); v = order[idx].nextValue(v)) {
-                boolean allPredOrdered = Arrays.stream(predecessors[v]).allMatch(i -> isOrdered[i].get());
-                int m = minAccValue(v,false, false);
-                int mHeur = minAccValue(v, true, false);
+                // the heuristic placement is only relevant if all the predecessors of v are ordered
+                boolean allPredOrdered = nbUnorderedPred.quickGet(v) == 0;
+                int m = evaluate(v, allPredOrdered);
                 starts[v].updateLowerBound(m, this);
-                if(!allPredOrdered || starts[v].getLB() > mHeur || m != mHeur) {
+                if(!allPredOrdered || starts[v].getLB() > heurStart[v] || m != heurStart[v]) {
                     order[idx].removeValue(v, this);
                 }
             }
             if(order[idx].isInstantiated()) {
                 int i = order[idxCurrentOrder.get()].getValue();
-                minAccValue(i,true, true);
+                place(i);
                 int t = starts[i].getValue();
-                for(int k = 0; k < machinesHeur.length; k++) {
-                    if(machinesHeur[k][t].get() != IDLE && machinesHeur[k][t].get() != i) {
+                for(int k = 0; k < nbMachines; k++) {
+                    int task = machinesHeur(k, t);
+                    if(task != IDLE && task != i) {
                         assignments[i][k].instantiateTo(0, this);
                     }
                 }
-                isOrdered[i].set(true);
+                setOrdered(i);
                 for(int o = idx + 1; o < order.length; o++) {
                     order[o].removeValue(i, this);
                 }
             }
-        } while(order[idxCurrentOrder.get()].isInstantiated() && isOrdered[order[idxCurrentOrder.get()].getValue()].get());
+        } while(order[idxCurrentOrder.get()].isInstantiated()
+            && isOrdered.get(order[idxCurrentOrder.get()].getValue()));
     }
 
     @Override
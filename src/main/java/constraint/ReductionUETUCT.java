@@ -0,0 +1,233 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package constraint;
+
+import data.Factory;
+import data.InstanceUETUCT;
+import java.util.Arrays;
+
+/**
+ * Solves a reduced instance, with fewer tasks and precedences, and maps its schedule back to the whole instance. The
+ * reductions are the following ones :
+ * - the transitive precedences are removed : if there is a path of at least two precedences from task i to task j,
+ * then j starts at least two time units after i, and the precedence from i to j is always satisfied ;
+ * - the sinks whose only predecessor p in the transitive reduction has another successor are removed : such a sink
+ * only needs an idle slot after p (on a machine of p, or one time unit later on any machine). They are put back in
+ * the earliest idle slots, after the end of the schedule if there is none before it, which increases the makespan.
+ * As the reduced instance is a sub-instance, its optimal makespan is a lower bound of the one of the whole instance :
+ * the schedule mapped back is optimal if the reduced one is and if the sinks fit in the idle slots. If they do not,
+ * it is the starting point of a search on the whole instance, with the time left before the time limit.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+public class ReductionUETUCT {
+    private static final int IDLE = -1;
+
+    private final InstanceUETUCT instance;
+    // tasks of the reduced instance, task tasks[k] being task k of the reduced instance
+    private final int[] tasks;
+    // removed sinks, and their only predecessor in the transitive reduction
+    private final int[] sinks;
+    private final int[] sinkPredecessor;
+    private final InstanceUETUCT reduced;
+    private ScheduleUETUCT schedule;
+
+    public ReductionUETUCT(InstanceUETUCT instance) {
+        this.instance = instance;
+        int n = instance.getN();
+        int[][] reduction = instance.transitiveReduction();
+        int[] nbPred = new int[n];
+        int[] lastPred = new int[n];
+        for(int i = 0; i < n; i++) {
+            for(int s : reduction[i]) {
+                nbPred[s]++;
+                lastPred[s] = i;
+            }
+        }
+        boolean[] removed = new boolean[n];
+        int[] nbKeptSucc = new int[n];
+        for(int i = 0; i < n; i++) {
+            nbKeptSucc[i] = reduction[i].length;
+        }
+        int nbSinks = 0;
+        for(int i = 0; i < n; i++) {
+            if(reduction[i].length == 0 && nbPred[i] == 1 && nbKeptSucc[lastPred[i]] > 1) {
+                removed[i] = true;
+                nbKeptSucc[lastPred[i]]--;
+                nbSinks++;
+            }
+        }
+        this.tasks = new int[n - nbSinks];
+        this.sinks = new int[nbSinks];
+        this.sinkPredecessor = new int[nbSinks];
+        int nbTasks = 0;
+        nbSinks = 0;
+        for(int i = 0; i < n; i++) {
+            if(removed[i]) {
+                sinks[nbSinks] = i;
+                sinkPredecessor[nbSinks++] = lastPred[i];
+            } else {
+                tasks[nbTasks++] = i;
+            }
+        }
+        this.reduced = instance.subInstance(tasks, reduction);
+    }
+
+    /**
+     * Returns the reduced instance.
+     *
+     * @return the reduced instance
+     */
+    public InstanceUETUCT getReduced() {
+        return reduced;
+    }
+
+    /**
+     * Returns the number of tasks removed by the reduction.
+     *
+     * @return the number of tasks removed
+     */
+    public int getNbRemovedTasks() {
+        return sinks.length;
+    }
+
+    /**
+     * Returns the number of precedences removed by the reduction, the transitive ones and the ones of the removed
+     * tasks.
+     *
+     * @return the number of precedences removed
+     */
+    public int getNbRemovedPrecedences() {
+        return Arrays.stream(instance.getSucc()).mapToInt(links -> links.length).sum()
+            - Arrays.stream(reduced.getSucc()).mapToInt(links -> links.length).sum();
+    }
+
+    /**
+     * Solves the reduced instance with the given configuration, and maps its schedule back to the whole instance,
+     * within the given time limit : the reduced instance is solved with the time left once the greedy schedule is
+     * built, and the schedule mapped back is improved on the whole instance with the time left after the reduced one,
+     * if needed.
+     *
+     * @param configuration the configuration of the model
+     * @param timeLimitInMilliseconds the time limit of the whole solving
+     */
+    public void solve(ConfigurationUETUCT configuration, long timeLimitInMilliseconds) {
+        if(configuration == ConfigurationUETUCT.PORTFOLIO) {
+            throw new UnsupportedOperationException("Configuration ("+configuration+") not supported for reduction");
+        }
+        long deadline = System.nanoTime() + timeLimitInMilliseconds * 1000000;
+        ScheduleUETUCT reducedSchedule = new ScheduleUETUCT(new GreedyUETUCT(reduced));
+        reducedSchedule.improveUntil(reduced, configuration, deadline);
+        schedule = expand(reducedSchedule);
+        schedule.isOptimal = reducedSchedule.isOptimal && schedule.makespan == reducedSchedule.makespan
+            || schedule.makespan == instance.makespanLowerBound();
+        if(schedule.makespan > reducedSchedule.makespan) {
+            // the removed sinks did not fit in the idle slots : the schedule is improved on the whole instance
+            schedule.improveUntil(instance, configuration, deadline);
+        }
+    }
+
+    /**
+     * Maps the schedule of the reduced instance back to the whole instance, with the copies of its tasks, and puts
+     * each removed sink in the earliest idle slot after its predecessor, the makespan being increased if there is none.
+     */
+    private ScheduleUETUCT expand(ScheduleUETUCT schedule) {
+        int m = instance.getM();
+        int[] starts = new int[instance.getN()];
+        boolean[][] assignments = new boolean[instance.getN()][m];
+        // each sink can be put at most one time unit after the end of the schedule
+        int[][] machines = new int[m][schedule.makespan + sinks.length + 1];
+        for(int[] machine : machines) {
+            Arrays.fill(machine, IDLE);
+        }
+        int makespan = schedule.makespan;
+        for(int k = 0; k < tasks.length; k++) {
+            int task = tasks[k];
+            starts[task] = schedule.starts[k];
+            for(int j = 0; j < m; j++) {
+                assignments[task][j] = schedule.assignments[k][j];
+                if(assignments[task][j]) {
+                    machines[j][starts[task]] = task;
+                }
+            }
+        }
+        for(int s = 0; s < sinks.length; s++) {
+            int sink = sinks[s];
+            int p = sinkPredecessor[s];
+            int t = starts[p] + 1;
+            int machine = -1;
+            while(machine == -1) {
+                for(int j = 0; j < m && machine == -1; j++) {
+                    if(machines[j][t] == IDLE && (t > starts[p] + 1 || assignments[p][j])) {
+                        machine = j;
+                    }
+                }
+                if(machine == -1) {
+                    t++;
+                }
+            }
+            starts[sink] = t;
+            assignments[sink][machine] = true;
+            machines[machine][t] = sink;
+            makespan = Math.max(makespan, t + 1);
+        }
+        ScheduleUETUCT expanded = new ScheduleUETUCT(starts, assignments, makespan);
+        expanded.nbNodes = schedule.nbNodes;
+        expanded.nbBacktracks = schedule.nbBacktracks;
+        expanded.nbFails = schedule.nbFails;
+        expanded.foundAt = schedule.foundAt;
+        return expanded;
+    }
+
+    public int[] getStarts() {
+        return schedule.starts;
+    }
+
+    /**
+     * Returns the machines of each task in the schedule, i.e. assignments[i][k] is true iff a copy of task i is
+     * processed on machine k.
+     *
+     * @return the machines of each task
+     */
+    public boolean[][] getAssignments() {
+        return schedule.assignments;
+    }
+
+    public int getMakespan() {
+        return schedule.makespan;
+    }
+
+    /**
+     * Returns true iff the schedule is known to be optimal, i.e. the reduced schedule was proved optimal and the
+     * removed sinks fitted in its idle slots, or its improvement on the whole instance was proved optimal.
+     *
+     * @return true iff the schedule is optimal
+     */
+    public boolean isOptimal() {
+        return schedule.isOptimal;
+    }
+
+    /**
+     * Usage : ConfigurationName timeLimitInMinutes pathToInstanceFile
+     * The final line has the same format as the one of {@link UETUCTModel#main(String[])}, followed by the numbers of
+     * tasks and of precedences removed and by whether the schedule is known to be optimal. The time to best is the time
+     * at which the schedule of the reduced instance mapped back, or its improvement on the whole instance, was found.
+     */
+    public static void main(String[] args) {
+        ConfigurationUETUCT configuration = ConfigurationUETUCT.valueOf(args[0]);
+        long timeLimitInMilliseconds = Long.parseLong(args[1]) * 60000;
+        InstanceUETUCT instance = Factory.readInstance(args[2]);
+        long start = System.nanoTime();
+        ReductionUETUCT reduction = new ReductionUETUCT(instance);
+        reduction.solve(configuration, timeLimitInMilliseconds);
+        long time = (System.nanoTime() - start) / 1000000;
+        long timeToBest = (reduction.schedule.foundAt - start) / 1000000;
+        System.out.println(instance.getName() + ";" + time + ";" + timeToBest + ";" + reduction.getMakespan() + ";"
+            + reduction.schedule.nbNodes + ";" + reduction.schedule.nbBacktracks + ";"
+            + reduction.schedule.nbFails + ";" + reduction.getNbRemovedTasks() + ";"
+            + reduction.getNbRemovedPrecedences() + ";" + reduction.isOptimal() + ";");
+    }
+}
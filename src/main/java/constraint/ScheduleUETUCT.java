@@ -0,0 +1,104 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package constraint;
+
+import data.InstanceUETUCT;
+import java.util.Arrays;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+
+/**
+ * Schedule of an instance, with the counters of the searches which led to it. It can be improved by a search for
+ * strictly better schedules of the instance, which is how the decomposition and the reduction improve, on the whole
+ * instance, the schedule built from their sub-instances.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+class ScheduleUETUCT {
+    int[] starts;
+    boolean[][] assignments;
+    int makespan;
+    boolean isOptimal;
+    long nbNodes;
+    long nbBacktracks;
+    long nbFails;
+    // time at which the schedule was obtained, as given by System.nanoTime()
+    long foundAt;
+
+    ScheduleUETUCT(int[] starts, boolean[][] assignments, int makespan) {
+        this.starts = starts;
+        this.assignments = assignments;
+        this.makespan = makespan;
+        this.foundAt = System.nanoTime();
+    }
+
+    ScheduleUETUCT(GreedyUETUCT greedy) {
+        this(greedy.getStarts(), greedy.getAssignments(), greedy.getMakespan());
+    }
+
+    /**
+     * Searches for strictly better schedules of the instance within the given time limit, the best one found replacing
+     * this schedule. The counters of the search are added to the ones of the schedule, which is optimal iff the search
+     * is complete. The time limit includes the building of the model. Nothing is done if no time is left.
+     *
+     * @param instance the instance of the schedule
+     * @param configuration the configuration of the model
+     * @param timeLimitInMilliseconds the time limit of the search
+     */
+    void improve(InstanceUETUCT instance, ConfigurationUETUCT configuration, long timeLimitInMilliseconds) {
+        if(timeLimitInMilliseconds <= 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + timeLimitInMilliseconds * 1000000;
+        UETUCTModel uetuctModel = new UETUCTModel(instance, configuration, true);
+        uetuctModel.getModel().arithm(uetuctModel.getMakespan(), "<", makespan).post();
+        if(remaining(deadline) <= 0) {
+            return;
+        }
+        Solver solver = uetuctModel.getModel().getSolver();
+        solver.limitTime(remaining(deadline));
+        while(solver.solve()) {
+            foundAt = System.nanoTime();
+            makespan = uetuctModel.getMakespan().getValue();
+            starts = Arrays.stream(uetuctModel.getStarts()).mapToInt(IntVar::getValue).toArray();
+            assignments = new boolean[instance.getN()][instance.getM()];
+            BoolVar[][] vars = uetuctModel.getAssignments();
+            for(int i = 0; i < vars.length; i++) {
+                for(int k = 0; k < vars[i].length; k++) {
+                    assignments[i][k] = vars[i][k].getValue() == 1;
+                }
+            }
+        }
+        isOptimal = !solver.isStopCriterionMet();
+        nbNodes += solver.getNodeCount();
+        nbBacktracks += solver.getBackTrackCount();
+        nbFails += solver.getFailCount();
+    }
+
+    /**
+     * Improves the schedule with the time left before the given deadline, unless it is already known to be optimal.
+     *
+     * @param instance the instance of the schedule
+     * @param configuration the configuration of the model
+     * @param deadline the deadline, as given by System.nanoTime()
+     */
+    void improveUntil(InstanceUETUCT instance, ConfigurationUETUCT configuration, long deadline) {
+        if(!isOptimal) {
+            improve(instance, configuration, remaining(deadline));
+        }
+    }
+
+    /**
+     * Returns the time left before the given deadline, in milliseconds.
+     *
+     * @param deadline the deadline, as given by System.nanoTime()
+     * @return the time left, which is negative or zero once the deadline has passed
+     */
+    static long remaining(long deadline) {
+        return (deadline - System.nanoTime()) / 1000000;
+    }
+}
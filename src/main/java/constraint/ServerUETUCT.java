@@ -0,0 +1,208 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package constraint;
+
+import data.CacheUETUCT;
+import data.Factory;
+import data.InstanceUETUCT;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resident solver, which avoids paying the start-up of the JVM and the warm-up of the JIT for each instance. It reads
+ * solve requests, one per line, either on the standard input or on the connections to a local TCP port :
+ * requestId ConfigurationName timeLimitInMilliseconds pathToInstanceFile
+ * The requests are solved concurrently on a bounded pool of workers, each one with its own time limit, a PORTFOLIO
+ * request counting as one worker per model of its portfolio so that the cores are not oversubscribed. Each improving
+ * solution is streamed back as a line requestId;SOLUTION;time;Objective;nbNodes;nbBacktracks;nbFails; and the request
+ * ends with a line requestId;FINAL; followed by the final statistics line of {@link UETUCTModel#main(String[])}, or
+ * with a line requestId;ERROR;message.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+public class ServerUETUCT {
+    private final ExecutorService executor;
+    // one permit per worker, a PORTFOLIO request holding one permit per model of its portfolio
+    private final Semaphore cores;
+    private final int nbWorkers;
+    private final CacheUETUCT cache;
+
+    public ServerUETUCT(int nbWorkers) {
+        this(nbWorkers, null);
+    }
+
+    /**
+     * Builds a server whose requests are solved through the given cache of the best schedules (see
+     * {@link UETUCTModel#solve(InstanceUETUCT, ConfigurationUETUCT, long, CacheUETUCT, java.util.function.Consumer)}),
+     * except with the PORTFOLIO configuration.
+     *
+     * @param nbWorkers the number of requests solved at the same time
+     * @param cache the cache of the best schedules, or null
+     */
+    public ServerUETUCT(int nbWorkers, CacheUETUCT cache) {
+        this.executor = Executors.newFixedThreadPool(nbWorkers);
+        this.cores = new Semaphore(nbWorkers, true);
+        this.nbWorkers = nbWorkers;
+        this.cache = cache;
+    }
+
+    private static void send(PrintStream out, String line) {
+        synchronized(out) {
+            out.println(line);
+            out.flush();
+        }
+    }
+
+    /**
+     * Solves the instance stored at the given path, and streams its improving solutions and its final statistics.
+     */
+    private void solve(String id, ConfigurationUETUCT configuration, long timeLimitInMilliseconds, String path,
+        PrintStream out) {
+        InstanceUETUCT instance = Factory.readInstance(path);
+        if(instance == null) {
+            send(out, id + ";ERROR;Instance could not be read (" + path + ")");
+            return;
+        }
+        int nbCores = configuration == ConfigurationUETUCT.PORTFOLIO
+            ? Math.min(nbWorkers, PortfolioUETUCT.NB_BASE_MODELS) : 1;
+        cores.acquireUninterruptibly(nbCores);
+        try {
+            String stats = UETUCTModel.solve(instance, configuration, timeLimitInMilliseconds, cache,
+                line -> send(out, id + ";SOLUTION;" + line));
+            send(out, id + ";FINAL;" + stats);
+        } finally {
+            cores.release(nbCores);
+        }
+    }
+
+    /**
+     * Parses a request line and submits it to the workers, the answers being written in out.
+     *
+     * @param request the request line
+     * @param out the output stream of the answers
+     * @return the future of the request, or null if it is invalid
+     */
+    public Future<?> submit(String request, PrintStream out) {
+        String[] fields = request.trim().split("\\s+", 4);
+        if(fields.length < 4) {
+            send(out, fields[0] + ";ERROR;Usage : requestId ConfigurationName timeLimitInMilliseconds "
+                + "pathToInstanceFile");
+            return null;
+        }
+        String id = fields[0];
+        ConfigurationUETUCT configuration;
+        long timeLimitInMilliseconds;
+        try {
+            configuration = ConfigurationUETUCT.valueOf(fields[1]);
+            timeLimitInMilliseconds = Long.parseLong(fields[2]);
+        } catch(IllegalArgumentException e) {
+            send(out, id + ";ERROR;" + e.getMessage());
+            return null;
+        }
+        return executor.submit(() -> {
+            try {
+                solve(id, configuration, timeLimitInMilliseconds, fields[3], out);
+            } catch(RuntimeException e) {
+                send(out, id + ";ERROR;" + e);
+            }
+        });
+    }
+
+    /**
+     * Reads the requests from the given stream until its end, submits them, and waits for all of them to be answered.
+     *
+     * @param in the input stream of the requests
+     * @param out the output stream of the answers
+     * @throws IOException if the requests cannot be read
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public void serve(InputStream in, PrintStream out) throws IOException, InterruptedException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<Future<?>> futures = new ArrayList<>();
+        String line;
+        while((line = reader.readLine()) != null) {
+            if(!line.trim().isEmpty()) {
+                Future<?> future = submit(line, out);
+                if(future != null) {
+                    futures.add(future);
+                }
+            }
+        }
+        for(Future<?> future : futures) {
+            try {
+                future.get();
+            } catch(ExecutionException e) {
+                // the errors are already answered by the request itself
+            }
+        }
+    }
+
+    /**
+     * Accepts connections on the given local port, each connection sending its requests and receiving their answers.
+     *
+     * @param port the local TCP port
+     * @throws IOException if the port cannot be listened to
+     */
+    public void listen(int port) throws IOException {
+        try(ServerSocket serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            while(true) {
+                Socket socket = serverSocket.accept();
+                Thread session = new Thread(() -> {
+                    try(Socket s = socket) {
+                        serve(s.getInputStream(), new PrintStream(s.getOutputStream(), true, "UTF-8"));
+                    } catch(IOException | InterruptedException e) {
+                        e.printStackTrace();
+                    }
+                });
+                session.setDaemon(true);
+                session.start();
+            }
+        }
+    }
+
+    /**
+     * Waits for the submitted requests to be solved, and stops the workers.
+     *
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+    }
+
+    /**
+     * Usage : [nbWorkers [port [cacheDirectory]]]
+     * Without any port (or with "-"), the requests are read on the standard input until its end, and answered on the
+     * standard output.
+     * Otherwise, each connection is closed once all its requests are answered, after the end of its input.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int nbWorkers = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        CacheUETUCT cache = args.length > 2 ? new CacheUETUCT(args[2]) : null;
+        ServerUETUCT server = new ServerUETUCT(nbWorkers, cache);
+        if(args.length > 1 && !args[1].equals("-")) {
+            server.listen(Integer.parseInt(args[1]));
+        } else {
+            server.serve(System.in, System.out);
+            server.shutdown();
+        }
+    }
+}
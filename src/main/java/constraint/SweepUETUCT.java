@@ -0,0 +1,285 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package constraint;
+
+import data.Factory;
+import data.InstanceUETUCT;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.objective.IObjectiveManager;
+import org.chocosolver.solver.search.loop.monitors.IMonitorOpenNode;
+import org.chocosolver.solver.variables.IntVar;
+
+/**
+ * Solves the same instance for a range of numbers of machines, preprocessing the precedence graph only once (see
+ * {@link InstanceUETUCT#withMachines(int)}). The optimal makespan never increases with the number of machines, as a
+ * schedule on m machines is also a schedule on m + 1 machines (the additional machine being idle) : the makespan
+ * found for m is an upper bound for all the larger numbers of machines, and the makespan proved optimal for m is a
+ * lower bound for all the smaller ones. The numbers of machines are solved concurrently on a bounded pool of workers,
+ * in increasing order, and these bounds are shared between their searches as soon as they are found.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+public class SweepUETUCT {
+    public static final String HEADER = "instanceName;m;Objective;lowerBound;optimal;scheduleOfM;time;nbNodes;";
+
+    private final InstanceUETUCT instance;
+    private final ConfigurationUETUCT configuration;
+    private final long timeLimitInMilliseconds;
+    private final int nbWorkers;
+
+    /**
+     * @param instance the instance, whose number of machines is ignored
+     * @param configuration the configuration of the models (except PORTFOLIO)
+     * @param timeLimitInMilliseconds the time limit for each number of machines
+     * @param nbWorkers the number of numbers of machines solved at the same time
+     */
+    public SweepUETUCT(InstanceUETUCT instance, ConfigurationUETUCT configuration, long timeLimitInMilliseconds,
+        int nbWorkers) {
+        if(configuration == ConfigurationUETUCT.PORTFOLIO) {
+            throw new UnsupportedOperationException("Configuration (" + configuration + ") not supported for sweep");
+        }
+        this.instance = instance;
+        this.configuration = configuration;
+        this.timeLimitInMilliseconds = timeLimitInMilliseconds;
+        this.nbWorkers = nbWorkers;
+    }
+
+    /**
+     * Result of the sweep for one number of machines.
+     */
+    public static class Row {
+        private final String name;
+        private final int m;
+        private final int makespan;
+        private final int lowerBound;
+        private final int scheduleOfM;
+        private final long time;
+        private final long nbNodes;
+
+        private Row(String name, int m, int makespan, int lowerBound, int scheduleOfM, long time, long nbNodes) {
+            this.name = name;
+            this.m = m;
+            this.makespan = makespan;
+            this.lowerBound = lowerBound;
+            this.scheduleOfM = scheduleOfM;
+            this.time = time;
+            this.nbNodes = nbNodes;
+        }
+
+        public int getM() {
+            return m;
+        }
+
+        /**
+         * Returns the best makespan found for this number of machines, possibly by the search of a smaller one.
+         *
+         * @return the best makespan found
+         */
+        public int getMakespan() {
+            return makespan;
+        }
+
+        /**
+         * Returns the best lower bound of the makespan proved for this number of machines, possibly by the search of
+         * a larger one.
+         *
+         * @return the best lower bound of the makespan
+         */
+        public int getLowerBound() {
+            return lowerBound;
+        }
+
+        public boolean isOptimal() {
+            return makespan == lowerBound;
+        }
+
+        /**
+         * Returns the number of machines whose search found the schedule of the best makespan.
+         *
+         * @return the number of machines of the best schedule
+         */
+        public int getScheduleOfM() {
+            return scheduleOfM;
+        }
+
+        /**
+         * Returns the time spent by the search of this number of machines, in milliseconds.
+         *
+         * @return the time of the search
+         */
+        public long getTime() {
+            return time;
+        }
+
+        public long getNbNodes() {
+            return nbNodes;
+        }
+
+        @Override
+        public String toString() {
+            return name + ";" + m + ";" + makespan + ";" + lowerBound + ";" + isOptimal() + ";" + scheduleOfM + ";"
+                + time + ";" + nbNodes + ";";
+        }
+    }
+
+    /**
+     * Shared bounds of the searches, indexed by the number of machines minus the smallest one.
+     */
+    private static class Bounds {
+        // best makespan found by the search of each number of machines, or Integer.MAX_VALUE
+        private final AtomicIntegerArray found;
+        // makespan proved optimal by the search of each number of machines, or 0
+        private final AtomicIntegerArray proved;
+
+        private Bounds(int size) {
+            this.found = new AtomicIntegerArray(size);
+            this.proved = new AtomicIntegerArray(size);
+            for(int k = 0; k < size; k++) {
+                found.set(k, Integer.MAX_VALUE);
+            }
+        }
+
+        private int upperBound(int k) {
+            int ub = Integer.MAX_VALUE;
+            for(int j = 0; j <= k; j++) {
+                ub = Math.min(ub, found.get(j));
+            }
+            return ub;
+        }
+
+        private int lowerBound(int k) {
+            int lb = 0;
+            for(int j = k; j < proved.length(); j++) {
+                lb = Math.max(lb, proved.get(j));
+            }
+            return lb;
+        }
+    }
+
+    /**
+     * Solves the instance with m machines, importing the bounds of the other searches at each node and exporting its
+     * own ones.
+     *
+     * @return the best makespan found (Integer.MAX_VALUE if none), its lower bound, the time and the number of nodes
+     */
+    private long[] solve(int m, int k, Bounds bounds) {
+        InstanceUETUCT inst = instance.withMachines(m);
+        UETUCTModel uetuctModel = new UETUCTModel(inst, configuration, true);
+        Solver solver = uetuctModel.getModel().getSolver();
+        IObjectiveManager<IntVar> objective = solver.getObjectiveManager();
+        // the imported upper bound is only given to the objective manager, as a makespan to improve on
+        int[] imported = new int[]{Integer.MAX_VALUE};
+        solver.plugMonitor(new IMonitorOpenNode() {
+            @Override
+            public void beforeOpenNode() {
+                int ub = bounds.upperBound(k);
+                if(ub < imported[0]) {
+                    imported[0] = ub;
+                    objective.updateBestUB(ub);
+                }
+                int lb = bounds.lowerBound(k);
+                if(lb > objective.getBestLB().intValue()) {
+                    objective.updateBestLB(lb);
+                }
+            }
+        });
+        solver.limitTime(timeLimitInMilliseconds);
+        int best = Integer.MAX_VALUE;
+        while(solver.solve()) {
+            best = uetuctModel.getMakespan().getValue();
+            bounds.found.accumulateAndGet(k, best, Math::min);
+        }
+        int lowerBound = inst.splitMakespanLowerBound();
+        if(!solver.isStopCriterionMet()) {
+            // the search is complete : no makespan smaller than the best known one exists
+            lowerBound = Math.min(best, imported[0]);
+            bounds.proved.accumulateAndGet(k, lowerBound, Math::max);
+        }
+        return new long[]{best, lowerBound, solver.getTimeCountInNanoSeconds() / 1000000, solver.getNodeCount()};
+    }
+
+    /**
+     * Solves the instance for all the numbers of machines from mMin to mMax, and returns one row per number of
+     * machines, with the bounds carried across the numbers of machines.
+     *
+     * @param mMin the smallest number of machines
+     * @param mMax the largest number of machines
+     * @return the rows of the results, by increasing number of machines
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public List<Row> run(int mMin, int mMax) throws InterruptedException {
+        if(mMin <= 0 || mMax < mMin) {
+            throw new UnsupportedOperationException("Range of numbers of machines not correct");
+        }
+        int size = mMax - mMin + 1;
+        Bounds bounds = new Bounds(size);
+        ExecutorService executor = Executors.newFixedThreadPool(nbWorkers);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for(int k = 0; k < size; k++) {
+            int kk = k;
+            futures.add(executor.submit(() -> solve(mMin + kk, kk, bounds)));
+        }
+        executor.shutdown();
+        long[][] results = new long[size][];
+        try {
+            for(int k = 0; k < size; k++) {
+                results[k] = futures.get(k).get();
+            }
+        } catch(ExecutionException e) {
+            executor.shutdownNow();
+            throw new IllegalStateException("Sweep failed", e.getCause());
+        }
+        // the makespans are carried to the larger numbers of machines, and the lower bounds to the smaller ones
+        int[] makespan = new int[size];
+        int[] scheduleOfM = new int[size];
+        for(int k = 0; k < size; k++) {
+            makespan[k] = (int) results[k][0];
+            scheduleOfM[k] = mMin + k;
+            if(k > 0 && makespan[k - 1] <= makespan[k]) {
+                makespan[k] = makespan[k - 1];
+                scheduleOfM[k] = scheduleOfM[k - 1];
+            }
+        }
+        int[] lowerBound = new int[size];
+        for(int k = size - 1; k >= 0; k--) {
+            lowerBound[k] = (int) results[k][1];
+            if(k < size - 1) {
+                lowerBound[k] = Math.max(lowerBound[k], lowerBound[k + 1]);
+            }
+        }
+        List<Row> rows = new ArrayList<>();
+        for(int k = 0; k < size; k++) {
+            rows.add(new Row(instance.getName(), mMin + k, makespan[k], lowerBound[k], scheduleOfM[k], results[k][2],
+                results[k][3]));
+        }
+        return rows;
+    }
+
+    /**
+     * Usage : ConfigurationName timeLimitInMinutes pathToInstanceFile mMin mMax [nbWorkers]
+     * The time limit applies to each number of machines. One CSV line is printed per number of machines.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        ConfigurationUETUCT configuration = ConfigurationUETUCT.valueOf(args[0]);
+        long timeLimitInMilliseconds = Long.parseLong(args[1]) * 60000;
+        InstanceUETUCT instance = Factory.readInstance(args[2]);
+        int mMin = Integer.parseInt(args[3]);
+        int mMax = Integer.parseInt(args[4]);
+        int nbWorkers = args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+        SweepUETUCT sweep = new SweepUETUCT(instance, configuration, timeLimitInMilliseconds, nbWorkers);
+        System.out.println(HEADER);
+        for(Row row : sweep.run(mMin, mMax)) {
+            System.out.println(row);
+        }
+    }
+}
@@ -4,35 +4,144 @@
 */
 package constraint;
 
+import data.CacheUETUCT;
 import data.Factory;
 import data.InstanceUETUCT;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.stream.IntStream;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solution;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.constraints.nary.alldifferent.PropAllDiffAC;
 import org.chocosolver.solver.constraints.nary.alldifferent.PropAllDiffBC;
 import org.chocosolver.solver.constraints.nary.alldifferent.PropAllDiffInst;
 import org.chocosolver.solver.constraints.nary.channeling.PropInverseChannelAC;
+import org.chocosolver.solver.search.limits.FailCounter;
+import org.chocosolver.solver.search.loop.lns.neighbors.AdaptiveNeighborhood;
+import org.chocosolver.solver.search.loop.lns.neighbors.RandomNeighborhood;
 import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.search.strategy.selectors.values.IntDomainLast;
+import org.chocosolver.solver.search.strategy.selectors.values.IntDomainMin;
+import org.chocosolver.solver.search.strategy.selectors.values.IntValueSelector;
 import org.chocosolver.solver.search.strategy.selectors.variables.InputOrder;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
-import org.chocosolver.solver.variables.Task;
 
 public class UETUCTModel {
+    // parameters of the LNS configuration
+    private static final int LNS_WINDOW_SIZE = 10;
+    private static final int LNS_RANDOM_LEVEL = 3;
+    private static final long LNS_FAIL_LIMIT = 100;
+    // period of the samples of the search, in milliseconds, when the metrics are exported
+    private static final long METRICS_PERIOD = 1000;
+    // parameters of the restarts : the default unit of the cutoffs (in fails) and the growth of the geometrical ones
+    private static final long RESTART_SCALE = 50;
+    private static final double RESTART_GEOMETRICAL_GROWTH = 1.2;
+    private static final String USAGE = "Usage : ConfigurationName timeLimitInMinutes pathToInstanceFile "
+        + "[--symmetry-breaking] [--metrics=pathToMetricsFile] [--restarts=RestartPolicy] [--seed=seed] "
+        + "[--last-conflict=k] [--no-duplication]";
+
+    /**
+     * Restart policies of the search, whose cutoffs are counted in fails.
+     */
+    public enum RestartPolicy {
+        NONE, LUBY, GEOMETRICAL
+    }
+
+    private final ConfigurationUETUCT configuration;
     private final Model model;
+    private final IntVar[] starts;
+    private final BoolVar[][] assignments;
+    private final IntVar makespan;
+    private final IntVar[] order;
+    // values followed by the search until its first solution, or null if there is none
+    private final Solution hint;
 
     public UETUCTModel(InstanceUETUCT instance, ConfigurationUETUCT configuration, boolean withDuplication) {
+        this(instance, configuration, withDuplication, null);
+    }
+
+    public UETUCTModel(InstanceUETUCT instance, ConfigurationUETUCT configuration, boolean withDuplication,
+        Random random) {
+        this(instance, configuration, withDuplication, false, random);
+    }
+
+    /**
+     * Builds the model of the UET-UCT for the given instance.
+     *
+     * The machines being identical, their symmetry can be broken by ordering the columns of the assignments matrix
+     * lexicographically. This is only done with the NAIVE configuration, as the ORDER searches already place each task
+     * on the first suitable machine, which the lexicographic ordering would contradict.
+     *
+     * @param instance the instance to solve
+     * @param configuration the configuration of the model and of its search
+     * @param withDuplication true iff tasks can be duplicated
+     * @param withSymmetryBreaking true iff the machine symmetry should be broken
+     * @param random if not null, ties in the value selection of the ORDER searches are broken randomly
+     */
+    public UETUCTModel(
+        InstanceUETUCT instance,
+        ConfigurationUETUCT configuration,
+        boolean withDuplication,
+        boolean withSymmetryBreaking,
+        Random random
+    ) {
+        this(instance, configuration, withDuplication, withSymmetryBreaking, random, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Builds the model of the UET-UCT for the given instance, only looking for schedules whose makespan is at most
+     * maxMakespan : the domains of the starts, and the structures of the propagators depending on the horizon, are
+     * reduced accordingly. The makespan must be at least the one of the critical path (see
+     * {@link #criticalPathLength(InstanceUETUCT)}).
+     *
+     * @param instance the instance to solve
+     * @param configuration the configuration of the model and of its search
+     * @param withDuplication true iff tasks can be duplicated
+     * @param withSymmetryBreaking true iff the machine symmetry should be broken
+     * @param random if not null, ties in the value selection of the ORDER searches are broken randomly
+     * @param maxMakespan the largest makespan of the schedules looked for
+     */
+    public UETUCTModel(
+        InstanceUETUCT instance,
+        ConfigurationUETUCT configuration,
+        boolean withDuplication,
+        boolean withSymmetryBreaking,
+        Random random,
+        int maxMakespan
+    ) {
         int n = instance.getN();
         int m = instance.getM();
+        this.configuration = configuration;
         this.model = new Model();
-        IntVar[] starts = model.intVarArray("starts", n, 0, n);
-        BoolVar[][] assignments = model.boolVarMatrix(n, m);
-        int maxChain = Arrays.stream(instance.deepestSuccessor()).max().getAsInt();
-        IntVar makespan = model.intVar("makespan", Math.max((int) Math.ceil(1.0 * n / m), maxChain), n);
+        // lower bounds from the optimal schedule with duplication on unlimited machines, refined for m machines
+        int[] earliestStarts = instance.earliestStarts();
+        // upper bounds from a list schedule : each task must leave enough time for its deepest successor
+        GreedyUETUCT greedy = withDuplication ? new GreedyUETUCT(instance) : null;
+        int horizon = Math.min(greedy != null ? Math.min(greedy.getMakespan(), n) : n, maxMakespan);
+        // the greedy schedule is only followed by the search if it is one of the schedules looked for
+        if(greedy != null && greedy.getMakespan() > maxMakespan) {
+            greedy = null;
+        }
+        if(horizon < criticalPathLength(instance)) {
+            throw new UnsupportedOperationException("Makespan ("+maxMakespan+") smaller than the critical path");
+        }
+        int[] deepestSuccessor = instance.deepestSuccessor();
+        this.starts = new IntVar[n];
+        for(int i = 0; i < n; i++) {
+            starts[i] = model.intVar("starts[" + i + "]", earliestStarts[i], horizon - 1 - deepestSuccessor[i]);
+        }
+        this.assignments = model.boolVarMatrix(n, m);
+        this.makespan = model.intVar("makespan", instance.makespanLowerBound(), horizon);
         model.max(model.intOffsetView(makespan, -1), starts).post();
 
         // each task is assigned to at least one machine
@@ -40,47 +149,52 @@ public class UETUCTModel {
             model.sum(assignments[i], (withDuplication ? ">=" : "="), 1).post();
         }
 
-        // only one task at a time on each machine
-        Task[] tasks = new Task[n];
-        for(int i = 0; i<n; i++) {
-            tasks[i] = model.taskVar(starts[i], 1);
-        }
-        for(int j = 0; j<m; j++) {
-            int finalJ = j;
-            IntVar[] heights = IntStream.range(0, n).mapToObj(i -> assignments[i][finalJ]).toArray(BoolVar[]::new);
-            model.cumulative(tasks, heights, model.intVar(1)).post();
+        // the machines are interchangeable : their columns in the assignments matrix are ordered
+        if(withSymmetryBreaking && configuration == ConfigurationUETUCT.NAIVE) {
+            BoolVar[][] columns = new BoolVar[m][n];
+            for(int i = 0; i < n; i++) {
+                for(int j = 0; j < m; j++) {
+                    columns[j][i] = assignments[i][j];
+                }
+            }
+            model.lexChainLessEq(columns).post();
+            if(greedy != null) {
+                greedy.sortMachines();
+            }
         }
 
-        // constraint precedence
+        // only one task at a time on each machine
+        model.post(new Constraint("MachinesCstr", new PropMachinesUETUCT(starts, assignments)));
+
+        // constraint precedence, with the communication delays
         for(int i = 0; i<n; i++) {
             int[] succ = instance.getSucc()[i];
-            BoolVar[] directSucc = model.boolVarArray(succ.length);
-            for(int k = 0; k<succ.length; k++) {
-                model.arithm(starts[succ[k]], "-", starts[i], ">=", 1).post();
-                model.arithm(starts[succ[k]], "-", starts[i], "=", 1).reifyWith(directSucc[k]);
-                for(int j = 0; j<m; j++) {
-                    model.ifThen(
-                        directSucc[k],
-                        model.arithm(assignments[i][j], ">=", assignments[succ[k]][j])
-                    );
-                }
+            if(succ.length > 0) {
+                model.post(
+                    new Constraint("CommunicationCstr", new PropCommunicationUETUCT(i, starts, assignments, succ))
+                );
             }
-            IntVar sumDirect = model.intVar(0,succ.length);
-            model.sum(directSucc, "=", sumDirect).post();
-            model.sum(assignments[i], ">=", sumDirect).post();
         }
 
         IntVar[] order = null;
         if(
-            withDuplication && (configuration == ConfigurationUETUCT.ORDER
-                || configuration == ConfigurationUETUCT.ORDER_ADAPTED)
+            configuration == ConfigurationUETUCT.ORDER
+                || configuration == ConfigurationUETUCT.ORDER_ADAPTED
+                || configuration == ConfigurationUETUCT.LNS
         ) {
             order = model.intVarArray("order", n, 0, n - 1);
-            IntVar[] indexes = model.intVarArray("indexes", order.length, 0, order.length - 1);
+            // each task is ordered after all its ancestors and before all its descendants
+            IntVar[] indexes = new IntVar[n];
+            for(int i = 0; i < n; i++) {
+                indexes[i] = model.intVar("indexes[" + i + "]", instance.nbAncestors(i),
+                    n - 1 - instance.nbDescendants(i));
+            }
             model.post(
                 new Constraint(
                     "OrderCstr",
-                    new PropOrderUETUCT(order, starts, assignments, instance.getPred()),
+                    withDuplication ? new PropOrderUETUCT(order, starts, assignments, instance.getPred())
+                        : new PropOrderNoDuplicationUETUCT(order, starts, assignments, instance.getPred(),
+                            instance.getSucc()),
                     new PropInverseChannelAC(order, indexes, 0, 0),
                     new PropAllDiffInst(order),
                     new PropAllDiffAC(order, true),
@@ -88,69 +202,278 @@ public class UETUCTModel {
                     new PropAllDiffBC(indexes)
                 )
             );
-            int[][] ancestors = instance.getAncestors();
-            for(int i = 0; i < ancestors.length; i++) {
-                for(int j = 0; j < ancestors[i].length; j++) {
-                    model.arithm(indexes[ancestors[i][j]], "<", indexes[i]).post();
-                }
-            }
+            model.post(
+                new Constraint(
+                    "IndexPrecedencesCstr",
+                    new PropIndexPrecedencesUETUCT(indexes, instance.transitiveReduction())
+                )
+            );
         }
 
         // set the search
+        Solution hint = null;
+        if(greedy != null && order != null) {
+            hint = new Solution(model, order);
+            for(int k = 0; k < n; k++) {
+                hint.setIntVal(order[k], greedy.getOrder()[k]);
+            }
+        }
         if (ConfigurationUETUCT.NAIVE == configuration) {
             ArrayList<IntVar> list = new ArrayList<>();
             for(int i = 0; i < starts.length; i++) {
                 list.add(starts[i]);
                 list.addAll(Arrays.asList(assignments[i]));
             }
+            IntVar[] vars = list.toArray(new IntVar[0]);
+            if(greedy != null) {
+                hint = new Solution(model, vars);
+                for(int i = 0; i < n; i++) {
+                    hint.setIntVal(starts[i], greedy.getStarts()[i]);
+                    for(int j = 0; j < m; j++) {
+                        hint.setIntVal(assignments[i][j], greedy.getAssignments()[i][j] ? 1 : 0);
+                    }
+                }
+            }
             model.getSolver().setSearch(
-                Search.inputOrderLBSearch(list.toArray(new IntVar[0]))
+                hint == null ? Search.inputOrderLBSearch(vars)
+                    : Search.intVarSearch(new InputOrder<>(model), withHint(hint, new IntDomainMin()), vars)
             );
-        } else if (ConfigurationUETUCT.ORDER == configuration) {
-            model.getSolver().setSearch(
-                Search.intVarSearch(
-                    new InputOrder<>(model),
-                    var -> {
-                        int val = var.getLB();
-                        for(int v = var.getLB(); v <= var.getUB(); v = var.nextValue(v)) {
-                            if(starts[v].getLB() < starts[val].getLB()) {
-                                val = v;
-                            }
+        } else if (ConfigurationUETUCT.ORDER == configuration || ConfigurationUETUCT.LNS == configuration) {
+            setOrderSearch(
+                order,
+                assignments,
+                withHint(hint, var -> {
+                    int val = var.getLB();
+                    int nbTies = 1;
+                    for(int v = var.nextValue(val); v <= var.getUB(); v = var.nextValue(v)) {
+                        if(starts[v].getLB() < starts[val].getLB()) {
+                            val = v;
+                            nbTies = 1;
+                        } else if(random != null && starts[v].getLB() == starts[val].getLB()
+                            && random.nextInt(++nbTies) == 0) {
+                            val = v;
                         }
-                        return val;
-                    },
-                    order
-                )
+                    }
+                    return val;
+                }),
+                withDuplication
             );
         } else if (ConfigurationUETUCT.ORDER_ADAPTED == configuration) {
-            int[] deepestSuccessor = instance.deepestSuccessor();
-            model.getSolver().setSearch(
-                Search.intVarSearch(
-                    new InputOrder<>(model),
-                    var -> {
-                        int val = var.getLB();
-                        for(int v = var.getLB(); v <= var.getUB(); v = var.nextValue(v)) {
-                            if(deepestSuccessor[v] > deepestSuccessor[val]) {
-                                val = v;
-                            }
+            setOrderSearch(
+                order,
+                assignments,
+                withHint(hint, var -> {
+                    int val = var.getLB();
+                    int nbTies = 1;
+                    for(int v = var.nextValue(val); v <= var.getUB(); v = var.nextValue(v)) {
+                        if(deepestSuccessor[v] > deepestSuccessor[val]) {
+                            val = v;
+                            nbTies = 1;
+                        } else if(random != null && deepestSuccessor[v] == deepestSuccessor[val]
+                            && random.nextInt(++nbTies) == 0) {
+                            val = v;
                         }
-                        return val;
-                    },
-                    order
-                )
+                    }
+                    return val;
+                }),
+                withDuplication
             );
         } else {
             throw new UnsupportedOperationException("Configuration ("+configuration+") not supported for search");
         }
 
+        if(ConfigurationUETUCT.LNS == configuration) {
+            long seed = random != null ? random.nextLong() : 0;
+            model.getSolver().setLNS(
+                new AdaptiveNeighborhood(
+                    seed,
+                    new WindowNeighborhood(order, LNS_WINDOW_SIZE, seed),
+                    new CriticalNeighborhood(order, starts, makespan, deepestSuccessor, seed),
+                    new RandomNeighborhood(order, LNS_RANDOM_LEVEL, seed)
+                ),
+                new FailCounter(model, LNS_FAIL_LIMIT)
+            );
+        } else if(greedy != null) {
+            // the search restarts once the first solution is found, so that it does not stay in the subtree of the hint
+            Solver solver = model.getSolver();
+            solver.setRestarts(limit -> solver.getSolutionCount() > 0 && solver.getRestartCount() == 0,
+                () -> Long.MAX_VALUE, 1);
+        }
+
+        this.order = order;
+        this.hint = hint;
+
         // set objective as minimizing C
         model.setObjective(false, makespan);
     }
 
+    /**
+     * Returns the smallest makespan allowed by the domains of the starts, i.e. the largest earliest start of a task
+     * plus the number of tasks in the longest chain of its descendants, plus one.
+     *
+     * @param instance the instance
+     * @return the length of the critical path
+     */
+    public static int criticalPathLength(InstanceUETUCT instance) {
+        int[] earliestStarts = instance.earliestStarts();
+        int[] deepestSuccessor = instance.deepestSuccessor();
+        int length = 0;
+        for(int i = 0; i < earliestStarts.length; i++) {
+            length = Math.max(length, earliestStarts[i] + deepestSuccessor[i] + 1);
+        }
+        return length;
+    }
+
+    /**
+     * Sets the search on the order variables, with the given value selector. Without duplication, the Order constraint
+     * does not fix the machine of a task when several ones allow its earliest start, so the machine of each ordered
+     * task is chosen before the next task in the order.
+     *
+     * @param order the order variables
+     * @param assignments the assignments variables
+     * @param orderSelector the value selector of the order variables
+     * @param withDuplication true iff tasks can be duplicated
+     */
+    private void setOrderSearch(IntVar[] order, BoolVar[][] assignments, IntValueSelector orderSelector,
+        boolean withDuplication) {
+        if(withDuplication) {
+            model.getSolver().setSearch(Search.intVarSearch(new InputOrder<>(model), orderSelector, order));
+            return;
+        }
+        Set<IntVar> orderVars = Collections.newSetFromMap(new IdentityHashMap<>());
+        orderVars.addAll(Arrays.asList(order));
+        ArrayList<IntVar> list = new ArrayList<>(Arrays.asList(order));
+        for(BoolVar[] machines : assignments) {
+            list.addAll(Arrays.asList(machines));
+        }
+        model.getSolver().setSearch(
+            Search.intVarSearch(
+                variables -> {
+                    for(IntVar var : order) {
+                        if(!var.isInstantiated()) {
+                            return var;
+                        }
+                        for(BoolVar machine : assignments[var.getValue()]) {
+                            if(!machine.isInstantiated()) {
+                                return machine;
+                            }
+                        }
+                    }
+                    return null;
+                },
+                var -> orderVars.contains(var) ? orderSelector.selectValue(var) : 1,
+                list.toArray(new IntVar[0])
+            )
+        );
+    }
+
+    /**
+     * Wraps a value selector so that, until the first solution is found, the values of the hint (i.e. of the greedy
+     * schedule, or of the one given to {@link #setHint(int[], boolean[][])}) are selected whenever they are still in
+     * the domains.
+     *
+     * @param hint the values to select first, or null if there is none
+     * @param selector the value selector to use otherwise
+     * @return the value selector
+     */
+    private IntValueSelector withHint(Solution hint, IntValueSelector selector) {
+        if(hint == null) {
+            return selector;
+        }
+        return new IntDomainLast(hint, selector, (var, val) -> model.getSolver().getSolutionCount() == 0);
+    }
+
+    /**
+     * Replaces the schedule followed by the search until its first solution, the greedy one by default, by the given
+     * one. Its values are only selected while they are still in the domains : the search follows it as far as possible
+     * even if it is excluded, e.g. by a bound on the makespan. This is only done with the NAIVE configuration, whose
+     * search branches on the starts and the assignments : the ORDER searches branch on the order in which the tasks
+     * are placed, which cannot be recovered from the starts when tasks are duplicated (ordering the tasks by start does
+     * not rebuild the schedule in general), so they keep following the order of the greedy schedule. Nothing is done
+     * either if the search has no hint, i.e. if the tasks cannot be duplicated or if the greedy schedule exceeds the
+     * largest makespan.
+     *
+     * @param starts the start of each task in the schedule
+     * @param assignments the machines of each task in the schedule, i.e. assignments[i][k] is true iff a copy of task
+     *                    i is processed on machine k
+     */
+    public void setHint(int[] starts, boolean[][] assignments) {
+        if(hint == null || configuration != ConfigurationUETUCT.NAIVE) {
+            return;
+        }
+        for(int i = 0; i < starts.length; i++) {
+            hint.setIntVal(this.starts[i], starts[i]);
+            for(int k = 0; k < assignments[i].length; k++) {
+                hint.setIntVal(this.assignments[i][k], assignments[i][k] ? 1 : 0);
+            }
+        }
+    }
+
+    /**
+     * Restarts the search following the given policy, so that a bad choice at the top of the search tree does not
+     * trap it until the time limit. The value selection should then break its ties randomly (see the constructor),
+     * so that each restart explores a different part of the search tree. The nogoods recorded from the decisions at
+     * each restart prevent the search from exploring again the subtrees already refuted. This is not available with
+     * the LNS configuration, which already restarts at each neighborhood.
+     *
+     * @param policy the restart policy
+     * @param scale the unit of the cutoffs, in fails
+     * @param withNogoods true iff nogoods are recorded at each restart
+     */
+    public void setRestarts(RestartPolicy policy, long scale, boolean withNogoods) {
+        if(configuration == ConfigurationUETUCT.LNS) {
+            throw new UnsupportedOperationException("Configuration ("+configuration+") already restarts");
+        }
+        Solver solver = model.getSolver();
+        if(policy == RestartPolicy.LUBY) {
+            solver.setLubyRestart(scale, new FailCounter(model, scale), Integer.MAX_VALUE);
+        } else if(policy == RestartPolicy.GEOMETRICAL) {
+            solver.setGeometricalRestart(scale, RESTART_GEOMETRICAL_GROWTH, new FailCounter(model, scale),
+                Integer.MAX_VALUE);
+        }
+        if(withNogoods && policy != RestartPolicy.NONE) {
+            solver.setNoGoodRecordingFromRestarts();
+        }
+    }
+
+    /**
+     * Makes the search branch first on the variables involved in the last k conflicts (see
+     * {@link Search#lastConflict(org.chocosolver.solver.search.strategy.strategy.AbstractStrategy, int)}), so that
+     * the variable responsible for a failure is fixed again right after backtracking.
+     *
+     * @param k the number of conflicting variables to remember
+     */
+    public void setLastConflict(int k) {
+        Solver solver = model.getSolver();
+        solver.setSearch(Search.lastConflict(solver.getSearch(), k));
+    }
+
     public Model getModel() {
         return model;
     }
 
+    public IntVar[] getStarts() {
+        return starts;
+    }
+
+    public BoolVar[][] getAssignments() {
+        return assignments;
+    }
+
+    public IntVar getMakespan() {
+        return makespan;
+    }
+
+    /**
+     * Returns the order variables, i.e. order[k] is the k-th scheduled task, or null if the configuration does not use
+     * them.
+     *
+     * @return the order variables
+     */
+    public IntVar[] getOrder() {
+        return order;
+    }
+
     public static String toString(Solver solver, boolean finalStats) {
         return (finalStats ?
                 solver.getMeasures().getTimeToBestSolutionInNanoSeconds() :
@@ -162,21 +485,219 @@ public class UETUCTModel {
             + solver.getFailCount() + ";";
     }
 
-    public static void main(String[] args) {
-        ConfigurationUETUCT configuration = ConfigurationUETUCT.valueOf(args[0]);
-        long timeLimitInMilliseconds = Long.parseLong(args[1]) * 60000;
-        InstanceUETUCT instance = Factory.fromFile(args[2], InstanceUETUCT.class);
+    /**
+     * Returns the final statistics line of a solving process, as printed at the end of the main method, i.e. :
+     * instanceName;timeToProof;timeToBest;Objective;nbNodes;nbBacktracks;nbFails;
+     *
+     * @param instance the solved instance
+     * @param solver the solver that was used
+     * @return the final statistics line
+     */
+    public static String finalStats(InstanceUETUCT instance, Solver solver) {
+        return instance.getName() + ";"
+            + solver.getTimeCountInNanoSeconds() / 1000000 + ";"
+            + toString(solver, true);
+    }
+
+    /**
+     * Solves the instance with the given configuration and time limit, through the given cache if it is not null. A
+     * schedule proved optimal in the cache is returned immediately, without any search. Otherwise, the search only
+     * looks for schedules strictly better than the one of the cache, if any, and, with the NAIVE configuration, follows
+     * it first instead of the greedy schedule (see {@link #setHint(int[], boolean[][])}). The best schedule found is
+     * stored in the cache. The PORTFOLIO configuration only races the {@link PortfolioUETUCT#NB_BASE_MODELS} base
+     * configurations, without the cache.
+     *
+     * @param instance the instance to solve
+     * @param configuration the configuration of the model
+     * @param timeLimitInMilliseconds the time limit
+     * @param cache the cache of the best schedules, or null
+     * @param onSolution called with the statistics of each improving solution, as given by toString(solver, false)
+     * @return the final statistics line, as given by finalStats
+     */
+    public static String solve(InstanceUETUCT instance, ConfigurationUETUCT configuration,
+        long timeLimitInMilliseconds, CacheUETUCT cache, Consumer<String> onSolution) {
+        if(configuration == ConfigurationUETUCT.PORTFOLIO) {
+            PortfolioUETUCT portfolio = new PortfolioUETUCT(instance, true, 0);
+            portfolio.limitTime(timeLimitInMilliseconds);
+            while(portfolio.getPortfolio().solve()) {
+                onSolution.accept(toString(portfolio.getBestSolver(), false));
+            }
+            return finalStats(instance, portfolio.getBestSolver());
+        }
+        CacheUETUCT.Entry cached = cache != null ? cache.lookup(instance) : null;
+        if(cached != null) {
+            onSolution.accept("0;" + cached.getMakespan() + ";0;0;0;");
+            if(cached.isOptimal()) {
+                return instance.getName() + ";0;0;" + cached.getMakespan() + ";0;0;0;";
+            }
+        }
         UETUCTModel uetuctModel = new UETUCTModel(instance, configuration, true);
+        if(cached != null) {
+            uetuctModel.getModel().arithm(uetuctModel.getMakespan(), "<", cached.getMakespan()).post();
+            uetuctModel.setHint(cached.getStarts(), cached.getAssignments());
+        }
+        Solver solver = uetuctModel.getModel().getSolver();
+        solver.limitTime(timeLimitInMilliseconds);
+        int[] bestStarts = null;
+        boolean[][] bestAssignments = null;
+        while(solver.solve()) {
+            bestStarts = Arrays.stream(uetuctModel.getStarts()).mapToInt(IntVar::getValue).toArray();
+            bestAssignments = new boolean[instance.getN()][instance.getM()];
+            for(int i = 0; i < bestAssignments.length; i++) {
+                for(int k = 0; k < bestAssignments[i].length; k++) {
+                    bestAssignments[i][k] = uetuctModel.getAssignments()[i][k].getValue() == 1;
+                }
+            }
+            onSolution.accept(toString(solver, false));
+        }
+        boolean optimal = !solver.isStopCriterionMet();
+        if(bestStarts == null && cached != null) {
+            // no better schedule exists if the search is complete
+            if(optimal) {
+                cache.store(instance, cached.getStarts(), cached.getAssignments(), cached.getMakespan(), true);
+            }
+            return instance.getName() + ";"
+                + solver.getTimeCountInNanoSeconds() / 1000000 + ";0;"
+                + cached.getMakespan() + ";"
+                + solver.getNodeCount() + ";"
+                + solver.getBackTrackCount() + ";"
+                + solver.getFailCount() + ";";
+        }
+        if(bestStarts != null && cache != null) {
+            cache.store(instance, bestStarts, bestAssignments, solver.getBestSolutionValue().intValue(), optimal);
+        }
+        return finalStats(instance, solver);
+    }
+
+    /**
+     * Usage : ConfigurationName timeLimitInMinutes pathToInstanceFile [--symmetry-breaking]
+     * [--metrics=pathToMetricsFile] [--restarts=RestartPolicy] [--seed=seed] [--last-conflict=k] [--no-duplication]
+     * The options are the following ones, the PORTFOLIO configuration only accepting --no-duplication :
+     * - --symmetry-breaking breaks the symmetry of the machines, with the NAIVE configuration only ;
+     * - --metrics writes the metrics of the propagators and samples of the search in the given file as JSON lines (see
+     * {@link MetricsUETUCT}) ;
+     * - --restarts restarts the search following the given policy (NONE by default), nogoods being recorded at each
+     * restart, except with the LNS configuration which already restarts ;
+     * - --seed breaks the ties of the value selection of the ORDER searches randomly, and seeds the neighborhoods of
+     * the LNS configuration, except with the NAIVE configuration which has no ties ;
+     * - --last-conflict makes the search branch first on the variables of the last k conflicts ;
+     * - --no-duplication solves the variant where each task is processed exactly once.
+     * A wrong number of arguments, an unknown option, an option which does not apply to the configuration, or a value
+     * that cannot be parsed is reported with this usage on the standard error, the exit status being 1. The exit
+     * status is 1 as well if the instance file cannot be read.
+     */
+    public static void main(String[] args) {
+        ConfigurationUETUCT configuration;
+        long timeLimitInMilliseconds;
+        boolean withSymmetryBreaking = false;
+        String metricsPath = null;
+        RestartPolicy restartPolicy = RestartPolicy.NONE;
+        Random random = null;
+        int lastConflict = 0;
+        boolean withDuplication = true;
+        try {
+            if(args.length < 3) {
+                throw new IllegalArgumentException("Missing arguments");
+            }
+            configuration = ConfigurationUETUCT.valueOf(args[0]);
+            timeLimitInMilliseconds = Long.parseLong(args[1]) * 60000;
+            for(int k = 3; k < args.length; k++) {
+                String option = args[k].contains("=") ? args[k].substring(0, args[k].indexOf('=') + 1) : args[k];
+                String value = args[k].substring(option.length());
+                if(option.equals("--no-duplication")) {
+                    withDuplication = false;
+                    continue;
+                }
+                if(configuration == ConfigurationUETUCT.PORTFOLIO) {
+                    throw new IllegalArgumentException(args[k] + " not supported with " + configuration);
+                }
+                switch(option) {
+                    case "--symmetry-breaking":
+                        if(configuration != ConfigurationUETUCT.NAIVE) {
+                            throw new IllegalArgumentException(args[k] + " not supported with " + configuration);
+                        }
+                        withSymmetryBreaking = true;
+                        break;
+                    case "--metrics=":
+                        if(value.isEmpty()) {
+                            throw new IllegalArgumentException("Missing file of " + option);
+                        }
+                        metricsPath = value;
+                        break;
+                    case "--restarts=":
+                        restartPolicy = RestartPolicy.valueOf(value);
+                        if(configuration == ConfigurationUETUCT.LNS && restartPolicy != RestartPolicy.NONE) {
+                            throw new IllegalArgumentException(args[k] + " not supported with " + configuration
+                                + ", which already restarts");
+                        }
+                        break;
+                    case "--seed=":
+                        if(configuration == ConfigurationUETUCT.NAIVE) {
+                            throw new IllegalArgumentException(args[k] + " not supported with " + configuration);
+                        }
+                        random = new Random(Long.parseLong(value));
+                        break;
+                    case "--last-conflict=":
+                        lastConflict = Integer.parseInt(value);
+                        if(lastConflict < 0) {
+                            throw new IllegalArgumentException("Negative number of conflicts " + value);
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[k]);
+                }
+            }
+        } catch(IllegalArgumentException e) {
+            System.err.println("Invalid arguments : " + e.getMessage());
+            System.err.println(USAGE);
+            System.exit(1);
+            return;
+        }
+        InstanceUETUCT instance = Factory.readInstance(args[2]);
+        if(instance == null) {
+            System.err.println("Cannot read the instance " + args[2]);
+            System.exit(1);
+            return;
+        }
+        if(configuration == ConfigurationUETUCT.PORTFOLIO) {
+            PortfolioUETUCT portfolio = new PortfolioUETUCT(instance, withDuplication,
+                Runtime.getRuntime().availableProcessors());
+            portfolio.limitTime(timeLimitInMilliseconds);
+            while(portfolio.getPortfolio().solve()) {
+                System.out.println(toString(portfolio.getBestSolver(), false));
+            }
+            System.out.println(finalStats(instance, portfolio.getBestSolver()));
+            return;
+        }
+        UETUCTModel uetuctModel = new UETUCTModel(instance, configuration, withDuplication, withSymmetryBreaking,
+            random);
+        if(restartPolicy != RestartPolicy.NONE) {
+            uetuctModel.setRestarts(restartPolicy, RESTART_SCALE, true);
+        }
+        if(lastConflict > 0) {
+            uetuctModel.setLastConflict(lastConflict);
+        }
         Solver solver = uetuctModel.getModel().getSolver();
+        MetricsUETUCT metrics = null;
+        PrintStream metricsStream = null;
+        if(metricsPath != null) {
+            try {
+                metricsStream = new PrintStream(new FileOutputStream(metricsPath));
+            } catch(FileNotFoundException e) {
+                e.printStackTrace();
+                return;
+            }
+            metrics = new MetricsUETUCT(uetuctModel.getModel(), metricsStream, METRICS_PERIOD);
+        }
 
         solver.limitTime(timeLimitInMilliseconds);
         while(solver.solve()) {
             System.out.println(toString(solver, false));
         }
-        System.out.println(
-            instance.getName() + ";"
-                + solver.getTimeCountInNanoSeconds() / 1000000 + ";"
-                + toString(solver, true)
-        );
+        System.out.println(finalStats(instance, solver));
+        if(metrics != null) {
+            metrics.printSummary();
+            metricsStream.close();
+        }
     }
 }
@@ -0,0 +1,295 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package constraint;
+
+import data.GeneratorUETUCT;
+import data.InstanceUETUCT;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Task;
+
+/**
+ * Validation of the schedules found by the models. A schedule is valid iff each task has at least one copy (exactly
+ * one without duplication), all its copies starting at its start, no machine processes two tasks at the same time, and
+ * each task starts at least two time units after its predecessors, or one time unit after a predecessor having a copy
+ * on each of its machines, and each task has at least as many copies as successors starting one time unit after it.
+ *
+ * The main method solves small generated instances without duplication with the NAIVE and ORDER configurations,
+ * validates all the schedules found, and compares the optimal makespans proved by each configuration : the ORDER
+ * configurations only place each task at its earliest time on one of the machines (see
+ * {@link PropOrderNoDuplicationUETUCT}), which must not lose any optimal schedule.
+ *
+ * With duplication, the configurations are compared with the BASELINE model, which enforces the machines and the
+ * communication delays with the cumulative constraints and the reified decomposition replaced by
+ * {@link PropMachinesUETUCT} and {@link PropCommunicationUETUCT}. The ORDER configurations then place each task at its
+ * earliest time with all the copies needed (see {@link PropOrderUETUCT}), which must not lose any optimal schedule
+ * either.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+public class ValidationUETUCT {
+    private static final ConfigurationUETUCT[] CONFIGURATIONS = {
+        ConfigurationUETUCT.NAIVE, ConfigurationUETUCT.ORDER, ConfigurationUETUCT.ORDER_ADAPTED
+    };
+    private static final String BASELINE = "BASELINE";
+    private static final int NOT_PROVED = -1;
+
+    /**
+     * Returns the first violated rule of the given schedule, or null if it is valid.
+     *
+     * @param instance the instance
+     * @param starts the start of each task
+     * @param assignments the machines of each task, i.e. assignments[i][k] is true iff a copy of task i is processed
+     *                    on machine k
+     * @param makespan the makespan of the schedule
+     * @param withDuplication true iff tasks can be duplicated
+     * @return the first violated rule, or null if the schedule is valid
+     */
+    public static String validate(InstanceUETUCT instance, int[] starts, boolean[][] assignments, int makespan,
+        boolean withDuplication) {
+        int n = instance.getN();
+        int m = instance.getM();
+        int[][] machines = new int[m][Math.max(0, makespan)];
+        for(int[] machine : machines) {
+            Arrays.fill(machine, -1);
+        }
+        int end = 0;
+        for(int i = 0; i < n; i++) {
+            if(starts[i] < 0 || starts[i] >= makespan) {
+                return "Task " + i + " starts at " + starts[i] + ", outside of the makespan " + makespan;
+            }
+            end = Math.max(end, starts[i] + 1);
+            int nbCopies = 0;
+            for(int k = 0; k < m; k++) {
+                if(assignments[i][k]) {
+                    nbCopies++;
+                    if(machines[k][starts[i]] != -1) {
+                        return "Tasks " + machines[k][starts[i]] + " and " + i + " are both processed on machine " + k
+                            + " at time " + starts[i];
+                    }
+                    machines[k][starts[i]] = i;
+                }
+            }
+            if(nbCopies == 0 || !withDuplication && nbCopies > 1) {
+                return "Task " + i + " has " + nbCopies + " copies";
+            }
+        }
+        if(end != makespan) {
+            return "The makespan is " + makespan + " instead of " + end;
+        }
+        for(int i = 0; i < n; i++) {
+            int nbDirectSucc = 0;
+            for(int s : instance.getSucc()[i]) {
+                if(starts[s] <= starts[i]) {
+                    return "Task " + s + " starts before the end of its predecessor " + i;
+                }
+                if(starts[s] == starts[i] + 1) {
+                    nbDirectSucc++;
+                    for(int k = 0; k < m; k++) {
+                        if(assignments[s][k] && !assignments[i][k]) {
+                            return "Task " + s + " starts right after its predecessor " + i + " on machine " + k
+                                + ", which does not process " + i;
+                        }
+                    }
+                }
+            }
+            int nbCopies = 0;
+            for(int k = 0; k < m; k++) {
+                nbCopies += assignments[i][k] ? 1 : 0;
+            }
+            if(nbDirectSucc > nbCopies) {
+                return "Task " + i + " has " + nbDirectSucc + " successors starting right after it, but only "
+                    + nbCopies + " copies";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Model of the UET-UCT with duplication as it was before the dedicated propagators : each machine has its own
+     * cumulative constraint, and the communication delays are enforced by a reified decomposition, with a boolean
+     * variable per precedence telling whether the successor starts right after its predecessor. Its search branches on
+     * the starts and the machines of each task in turn, at their smallest values, like the one of the NAIVE
+     * configuration without the greedy schedule.
+     */
+    private static class BaselineModel {
+        private final IntVar[] starts;
+        private final BoolVar[][] assignments;
+        private final IntVar makespan;
+
+        private BaselineModel(InstanceUETUCT instance) {
+            int n = instance.getN();
+            int m = instance.getM();
+            Model model = new Model();
+            starts = model.intVarArray("starts", n, 0, n);
+            assignments = model.boolVarMatrix(n, m);
+            int maxChain = Arrays.stream(instance.deepestSuccessor()).max().getAsInt();
+            makespan = model.intVar("makespan", Math.max((int) Math.ceil(1.0 * n / m), maxChain), n);
+            model.max(model.intOffsetView(makespan, -1), starts).post();
+            for(int i = 0; i < n; i++) {
+                model.sum(assignments[i], ">=", 1).post();
+            }
+            Task[] tasks = new Task[n];
+            for(int i = 0; i < n; i++) {
+                tasks[i] = model.taskVar(starts[i], 1);
+            }
+            for(int j = 0; j < m; j++) {
+                int finalJ = j;
+                IntVar[] heights = IntStream.range(0, n).mapToObj(i -> assignments[i][finalJ]).toArray(BoolVar[]::new);
+                model.cumulative(tasks, heights, model.intVar(1)).post();
+            }
+            for(int i = 0; i < n; i++) {
+                int[] succ = instance.getSucc()[i];
+                BoolVar[] directSucc = model.boolVarArray(succ.length);
+                for(int k = 0; k < succ.length; k++) {
+                    model.arithm(starts[succ[k]], "-", starts[i], ">=", 1).post();
+                    model.arithm(starts[succ[k]], "-", starts[i], "=", 1).reifyWith(directSucc[k]);
+                    for(int j = 0; j < m; j++) {
+                        model.ifThen(directSucc[k], model.arithm(assignments[i][j], ">=", assignments[succ[k]][j]));
+                    }
+                }
+                IntVar sumDirect = model.intVar(0, succ.length);
+                model.sum(directSucc, "=", sumDirect).post();
+                model.sum(assignments[i], ">=", sumDirect).post();
+            }
+            IntVar[] vars = new IntVar[n * (m + 1)];
+            for(int i = 0; i < n; i++) {
+                vars[i * (m + 1)] = starts[i];
+                System.arraycopy(assignments[i], 0, vars, i * (m + 1) + 1, m);
+            }
+            model.getSolver().setSearch(Search.inputOrderLBSearch(vars));
+            model.setObjective(false, makespan);
+        }
+    }
+
+    /**
+     * Solves the instance with the given configuration, and validates each schedule found.
+     *
+     * @return the optimal makespan, or NOT_PROVED if it is not proved within the time limit
+     * @throws IllegalStateException if a schedule found is not valid
+     */
+    private static int solve(InstanceUETUCT instance, ConfigurationUETUCT configuration, boolean withDuplication,
+        long timeLimitInMilliseconds) {
+        UETUCTModel uetuctModel = new UETUCTModel(instance, configuration, withDuplication);
+        return solve(instance, configuration.toString(), uetuctModel.getStarts(), uetuctModel.getAssignments(),
+            uetuctModel.getMakespan(), withDuplication, timeLimitInMilliseconds);
+    }
+
+    /**
+     * Solves the instance with the BASELINE model, with duplication, and validates each schedule found.
+     *
+     * @return the optimal makespan, or NOT_PROVED if it is not proved within the time limit
+     * @throws IllegalStateException if a schedule found is not valid
+     */
+    private static int solveBaseline(InstanceUETUCT instance, long timeLimitInMilliseconds) {
+        BaselineModel baseline = new BaselineModel(instance);
+        return solve(instance, BASELINE, baseline.starts, baseline.assignments, baseline.makespan, true,
+            timeLimitInMilliseconds);
+    }
+
+    /**
+     * Solves the model of the given variables, and validates each schedule found.
+     *
+     * @return the optimal makespan, or NOT_PROVED if it is not proved within the time limit
+     * @throws IllegalStateException if a schedule found is not valid
+     */
+    private static int solve(InstanceUETUCT instance, String name, IntVar[] startVars, BoolVar[][] vars,
+        IntVar makespanVar, boolean withDuplication, long timeLimitInMilliseconds) {
+        Solver solver = makespanVar.getModel().getSolver();
+        solver.limitTime(timeLimitInMilliseconds);
+        int makespan = NOT_PROVED;
+        while(solver.solve()) {
+            makespan = makespanVar.getValue();
+            int[] starts = Arrays.stream(startVars).mapToInt(IntVar::getValue).toArray();
+            boolean[][] assignments = new boolean[vars.length][];
+            for(int i = 0; i < vars.length; i++) {
+                assignments[i] = new boolean[vars[i].length];
+                for(int k = 0; k < vars[i].length; k++) {
+                    assignments[i][k] = vars[i][k].getValue() == 1;
+                }
+            }
+            String violation = validate(instance, starts, assignments, makespan, withDuplication);
+            if(violation != null) {
+                throw new IllegalStateException("Invalid schedule of " + instance.getName() + " with " + name
+                    + " : " + violation);
+            }
+        }
+        return solver.isStopCriterionMet() ? NOT_PROVED : makespan;
+    }
+
+    /**
+     * Usage : [nbInstances [timeLimitInSeconds [seed [withDuplication]]]]
+     * Generates nbInstances instances (20 by default) with 8 to 14 tasks and 2 to 4 machines, alternating the families
+     * of {@link GeneratorUETUCT}, and solves each one without duplication with each configuration, within the time
+     * limit (10 seconds by default). If withDuplication is true, the instances are solved with duplication, with the
+     * BASELINE model first. Each line gives the name, the numbers of tasks and machines and the optimal makespan of an
+     * instance with each configuration ("-" if it is not proved). The final line gives the number of
+     * instances whose optimal makespan is proved by all the configurations, and the number of instances on which two
+     * configurations prove different optimal makespans, the exit status being 1 if there is any.
+     */
+    public static void main(String[] args) {
+        int nbInstances = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        long timeLimitInMilliseconds = (args.length > 1 ? Long.parseLong(args[1]) : 10) * 1000;
+        Random random = new Random(args.length > 2 ? Long.parseLong(args[2]) : 0);
+        boolean withDuplication = args.length > 3 && Boolean.parseBoolean(args[3]);
+        GeneratorUETUCT.Family[] families = GeneratorUETUCT.Family.values();
+        StringBuilder header = new StringBuilder("instance;n;m;");
+        if(withDuplication) {
+            header.append(BASELINE).append(";");
+        }
+        for(ConfigurationUETUCT configuration : CONFIGURATIONS) {
+            header.append(configuration).append(";");
+        }
+        System.out.println(header);
+        int nbProved = 0;
+        int nbDifferent = 0;
+        for(int g = 0; g < nbInstances; g++) {
+            InstanceUETUCT instance = GeneratorUETUCT.generate(families[g % families.length], "generated" + g,
+                8 + random.nextInt(7), 2 + random.nextInt(3), 1 + random.nextInt(3), 1 + random.nextInt(4),
+                new Random(random.nextLong()));
+            StringBuilder line = new StringBuilder(instance.getName() + ";" + instance.getN() + ";" + instance.getM()
+                + ";");
+            int[] makespans = new int[CONFIGURATIONS.length + (withDuplication ? 1 : 0)];
+            int c = 0;
+            if(withDuplication) {
+                makespans[c++] = solveBaseline(instance, timeLimitInMilliseconds);
+            }
+            for(ConfigurationUETUCT configuration : CONFIGURATIONS) {
+                makespans[c++] = solve(instance, configuration, withDuplication, timeLimitInMilliseconds);
+            }
+            int optimum = NOT_PROVED;
+            boolean allProved = true;
+            boolean different = false;
+            for(int makespan : makespans) {
+                line.append(makespan == NOT_PROVED ? "-" : Integer.toString(makespan)).append(";");
+                if(makespan == NOT_PROVED) {
+                    allProved = false;
+                } else if(optimum == NOT_PROVED) {
+                    optimum = makespan;
+                } else {
+                    different |= makespan != optimum;
+                }
+            }
+            System.out.println(line);
+            if(allProved) {
+                nbProved++;
+            }
+            if(different) {
+                nbDifferent++;
+            }
+        }
+        System.out.println(nbProved + ";" + nbDifferent + ";");
+        if(nbDifferent > 0) {
+            System.exit(1);
+        }
+    }
+}
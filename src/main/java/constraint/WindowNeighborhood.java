@@ -0,0 +1,60 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package constraint;
+
+import java.util.Random;
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.loop.lns.neighbors.IntNeighbor;
+import org.chocosolver.solver.variables.IntVar;
+
+/**
+ * LNS neighborhood over the order variables of {@link UETUCTModel} : all the positions are fixed to their value in the
+ * last solution, except a window of consecutive positions starting at a random position. As the fixed positions
+ * contain the same tasks as before, the tasks of the window are reordered. The window grows each time a neighborhood
+ * is explored without improvement, and is reset to its initial size when a solution is found.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+public class WindowNeighborhood extends IntNeighbor {
+    private final Random random;
+    private final int initialSize;
+    private int size;
+
+    public WindowNeighborhood(IntVar[] order, int initialSize, long seed) {
+        super(order);
+        this.random = new Random(seed);
+        this.initialSize = Math.min(initialSize, order.length);
+        this.size = this.initialSize;
+    }
+
+    @Override
+    public void recordSolution() {
+        super.recordSolution();
+        size = initialSize;
+    }
+
+    @Override
+    public void loadFromSolution(Solution solution) {
+        super.loadFromSolution(solution);
+        size = initialSize;
+    }
+
+    @Override
+    public void fixSomeVariables() throws ContradictionException {
+        int start = random.nextInt(variables.length - size + 1);
+        for(int k = 0; k < variables.length; k++) {
+            if(k < start || k >= start + size) {
+                freeze(k);
+            }
+        }
+    }
+
+    @Override
+    public void restrictLess() {
+        size = Math.min(variables.length, size + Math.max(1, size / 10));
+    }
+}
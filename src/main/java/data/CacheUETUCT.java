@@ -0,0 +1,204 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package data;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Persistent cache of the best schedules found, stored in a directory with one JSON file per instance fingerprint
+ * (see {@link InstanceUETUCT#fingerprint()}) and canonical precedence graph. The schedules are stored in the canonical
+ * numbering of the tasks (see {@link InstanceUETUCT#canonicalOrder()}), together with the precedence graph in this
+ * numbering : an entry is only used for an instance whose precedence graph is the same once renumbered, i.e. which is
+ * isomorphic to the one of the entry, so that the schedule is valid for it and the optimality proof holds. As two
+ * non-isomorphic instances may have the same fingerprint, the name of the file of an entry also contains a hash of
+ * its canonical precedence graph, so that the entries of such instances are stored side by side.
+ *
+ * Several processes may share the same directory : the entries are written in temporary files, which are only moved
+ * in place once fully written, and the entries are compared and replaced under a lock on the directory.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+public class CacheUETUCT {
+    private static final String LOCK_FILE = "cache.lock";
+
+    private final Path directory;
+
+    public CacheUETUCT(String directory) {
+        this.directory = Paths.get(directory);
+        try {
+            Files.createDirectories(this.directory);
+        } catch(IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Best schedule found for an instance.
+     */
+    public static class Entry {
+        private final int n;
+        private final int m;
+        private final int[][] succ;
+        private final int makespan;
+        private final boolean optimal;
+        private final int[] starts;
+        private final boolean[][] assignments;
+
+        @JsonCreator
+        public Entry(@JsonProperty("n") int n,
+            @JsonProperty("m") int m,
+            @JsonProperty("succ") int[][] succ,
+            @JsonProperty("makespan") int makespan,
+            @JsonProperty("optimal") boolean optimal,
+            @JsonProperty("starts") int[] starts,
+            @JsonProperty("assignments") boolean[][] assignments) {
+            this.n = n;
+            this.m = m;
+            this.succ = succ;
+            this.makespan = makespan;
+            this.optimal = optimal;
+            this.starts = starts;
+            this.assignments = assignments;
+        }
+
+        public int getN() {
+            return n;
+        }
+
+        public int getM() {
+            return m;
+        }
+
+        public int[][] getSucc() {
+            return succ;
+        }
+
+        public int getMakespan() {
+            return makespan;
+        }
+
+        /**
+         * Returns true iff the makespan of the schedule is proved optimal.
+         *
+         * @return true iff the schedule is optimal
+         */
+        public boolean isOptimal() {
+            return optimal;
+        }
+
+        public int[] getStarts() {
+            return starts;
+        }
+
+        public boolean[][] getAssignments() {
+            return assignments;
+        }
+    }
+
+    /**
+     * Returns the path of the file of the entry with the given fingerprint and canonical precedence graph.
+     */
+    private Path path(String fingerprint, InstanceUETUCT instance, int[][] canonicalSucc) {
+        return directory.resolve(fingerprint + "-"
+            + InstanceUETUCT.hash(instance.getM() + ";" + Arrays.deepToString(canonicalSucc)) + ".json");
+    }
+
+    /**
+     * Returns the entry stored at the given path if it is the one of the given instance in the canonical numbering
+     * order, or null otherwise.
+     */
+    private static Entry read(Path path, InstanceUETUCT instance, int[][] canonicalSucc) {
+        if(!Files.exists(path)) {
+            return null;
+        }
+        Entry entry = Factory.fromFile(path.toString(), Entry.class);
+        if(entry == null || entry.n != instance.getN() || entry.m != instance.getM()
+            || !Arrays.deepEquals(entry.succ, canonicalSucc)) {
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Returns the best schedule stored for the given instance, in the numbering of its tasks, or null if there is none.
+     *
+     * @param instance the instance
+     * @return the best schedule stored for the instance, or null
+     */
+    public Entry lookup(InstanceUETUCT instance) {
+        int[] order = instance.canonicalOrder();
+        int[][] canonicalSucc = instance.relabelledSucc(order);
+        Entry entry = read(path(instance.fingerprint(), instance, canonicalSucc), instance, canonicalSucc);
+        if(entry == null) {
+            return null;
+        }
+        int[] starts = new int[instance.getN()];
+        boolean[][] assignments = new boolean[instance.getN()][];
+        for(int k = 0; k < order.length; k++) {
+            starts[order[k]] = entry.starts[k];
+            assignments[order[k]] = entry.assignments[k];
+        }
+        return new Entry(instance.getN(), instance.getM(), instance.getSucc(), entry.makespan, entry.optimal, starts,
+            assignments);
+    }
+
+    /**
+     * Stores the given schedule of the instance, unless the stored one is better, i.e. has a smaller makespan or the
+     * same makespan with an optimality proof. The entries of the other instances are never replaced, even if they have
+     * the same fingerprint. A failure to write the entry is reported, and leaves the stored one unchanged.
+     *
+     * @param instance the instance
+     * @param starts the start of each task
+     * @param assignments the machines of each task, i.e. assignments[i][k] is true iff a copy of i is processed on k
+     * @param makespan the makespan of the schedule
+     * @param optimal true iff the makespan is proved optimal
+     */
+    public void store(InstanceUETUCT instance, int[] starts, boolean[][] assignments, int makespan, boolean optimal) {
+        int[] order = instance.canonicalOrder();
+        int[][] canonicalSucc = instance.relabelledSucc(order);
+        Path path = path(instance.fingerprint(), instance, canonicalSucc);
+        int[] canonicalStarts = new int[order.length];
+        boolean[][] canonicalAssignments = new boolean[order.length][];
+        for(int k = 0; k < order.length; k++) {
+            canonicalStarts[k] = starts[order[k]];
+            canonicalAssignments[k] = assignments[order[k]];
+        }
+        Entry entry = new Entry(instance.getN(), instance.getM(), canonicalSucc, makespan, optimal, canonicalStarts,
+            canonicalAssignments);
+        // a file lock is held by the whole JVM : the threads of this one are serialised beforehand
+        synchronized(CacheUETUCT.class) {
+            try(FileChannel lock = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+                FileLock ignored = lock.lock()) {
+                Entry stored = read(path, instance, canonicalSucc);
+                if(stored != null
+                    && (stored.makespan < makespan || stored.makespan == makespan && (stored.optimal || !optimal))) {
+                    return;
+                }
+                // the entry is written aside and then moved, so that it is never read partially written
+                Path tmp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+                try {
+                    Factory.writeFile(tmp.toString(), entry);
+                    Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(tmp);
+                }
+            } catch(IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -4,11 +4,46 @@
 */
 package data;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.File;
 import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class Factory {
+    /**
+     * Extension of the files in the binary instance format.
+     */
+    public static final String BINARY_EXTENSION = ".bin";
+
+    /**
+     * Binary instance format (big-endian ints) :
+     * MAGIC VERSION flags n m nameLength name(UTF-8 bytes, padded to a multiple of 4) E succOffsets[n+1] succ[E]
+     * The flags are reserved, and are 0. The deepest successors and the ancestors are recomputed from the successors,
+     * which is not slower than loading them.
+     */
+    private static final int MAGIC = 0x55455543; // "UETC"
+    private static final int VERSION = 1;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     /**
      * Reads an Object from a JSON file.
      *
@@ -18,15 +53,278 @@ public class Factory {
      * @return the Object in the JSON file
      */
     public static <T> T fromFile(String path, Class<T> valueType) {
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            return mapper.readValue(new File(path), valueType);
+            return MAPPER.readValue(new File(path), valueType);
         } catch (IOException e) {
             e.printStackTrace();
             return null;
         }
     }
 
+    /**
+     * Writes an Object in a JSON file.
+     *
+     * @param path the path of the JSON file
+     * @param value the Object to write
+     */
+    public static void toFile(String path, Object value) {
+        try {
+            writeFile(path, value);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes an Object in a JSON file, and reports the failure of the writing.
+     *
+     * @param path the path of the JSON file
+     * @param value the Object to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeFile(String path, Object value) throws IOException {
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(new File(path), value);
+    }
+
+    /**
+     * Reads an instance from a file, either in the binary format (if the path ends with {@link #BINARY_EXTENSION})
+     * or in the JSON format.
+     *
+     * @param path the path of the instance file
+     * @return the instance in the file, or null if it cannot be read
+     */
+    public static InstanceUETUCT readInstance(String path) {
+        if(path.endsWith(BINARY_EXTENSION)) {
+            return fromBinaryFile(path);
+        }
+        return fromJSONFile(path);
+    }
+
+    /**
+     * Reads an instance from a JSON file with a streaming parser, without building an intermediate tree.
+     *
+     * @param path the path of the JSON file
+     * @return the instance in the file, or null if it cannot be read
+     */
+    public static InstanceUETUCT fromJSONFile(String path) {
+        try(JsonParser parser = MAPPER.getFactory().createParser(new File(path))) {
+            if(parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object in " + path);
+            }
+            String name = null;
+            int n = -1;
+            int m = -1;
+            int[][] succ = null;
+            while(parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch(field) {
+                    case "name":
+                        name = parser.getValueAsString();
+                        break;
+                    case "n":
+                        n = parser.getIntValue();
+                        break;
+                    case "m":
+                        m = parser.getIntValue();
+                        break;
+                    case "succ":
+                        succ = readMatrix(parser);
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            if(n < 0 || m < 0 || succ == null) {
+                throw new IOException("Missing field in " + path);
+            }
+            return new InstanceUETUCT(name, n, m, succ);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static int[][] readMatrix(JsonParser parser) throws IOException {
+        List<int[]> rows = new ArrayList<>();
+        int[] buffer = new int[16];
+        while(parser.nextToken() == JsonToken.START_ARRAY) {
+            int size = 0;
+            while(parser.nextToken() != JsonToken.END_ARRAY) {
+                if(size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, 2 * size);
+                }
+                buffer[size++] = parser.getIntValue();
+            }
+            rows.add(Arrays.copyOf(buffer, size));
+        }
+        return rows.toArray(new int[0][]);
+    }
+
+    /**
+     * Reads an instance from a file in the binary format, through a memory-mapped channel.
+     *
+     * @param path the path of the binary file
+     * @return the instance in the file, or null if it cannot be read
+     */
+    public static InstanceUETUCT fromBinaryFile(String path) {
+        String name;
+        int n;
+        int m;
+        int[][] succ;
+        try(FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if(buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Not an instance file in the binary format : " + path);
+            }
+            int flags = buffer.getInt();
+            if(flags != 0) {
+                throw new IOException("Unknown flags (" + flags + ") in " + path);
+            }
+            n = buffer.getInt();
+            m = buffer.getInt();
+            int nameLength = buffer.getInt();
+            if(n < 0 || m < 0 || nameLength < 0 || nameLength + padding(nameLength) > buffer.remaining()) {
+                throw new IOException("Invalid header in " + path);
+            }
+            byte[] nameBytes = new byte[nameLength];
+            buffer.get(nameBytes);
+            buffer.position(buffer.position() + padding(nameBytes.length));
+            name = new String(nameBytes, StandardCharsets.UTF_8);
+            succ = readCSR(buffer.slice().asIntBuffer(), n);
+            if(succ == null) {
+                throw new IOException("Invalid successors lists in " + path);
+            }
+        } catch (IOException | BufferUnderflowException e) {
+            // a truncated file underflows the buffer
+            e.printStackTrace();
+            return null;
+        }
+        // an invalid precedence graph is reported by the instance, as for the JSON files
+        return new InstanceUETUCT(name, n, m, succ);
+    }
+
+    /**
+     * Reads lists in the CSR layout, or returns null if their offsets are not increasing from 0 or exceed the buffer.
+     */
+    private static int[][] readCSR(IntBuffer ints, int n) {
+        ints.get(); // total number of elements, only used for writing
+        if(n >= ints.remaining()) {
+            return null;
+        }
+        int[] offsets = new int[n + 1];
+        ints.get(offsets);
+        if(offsets[0] != 0 || offsets[n] > ints.remaining()) {
+            return null;
+        }
+        for(int i = 0; i < n; i++) {
+            if(offsets[i + 1] < offsets[i]) {
+                return null;
+            }
+        }
+        int[][] lists = new int[n][];
+        for(int i = 0; i < n; i++) {
+            lists[i] = new int[offsets[i + 1] - offsets[i]];
+            ints.get(lists[i]);
+        }
+        return lists;
+    }
+
+    /**
+     * Writes an instance in a file in the binary format.
+     *
+     * @param path the path of the binary file
+     * @param instance the instance to write
+     */
+    public static void toBinaryFile(String path, InstanceUETUCT instance) {
+        int n = instance.getN();
+        byte[] nameBytes = (instance.getName() == null ? "" : instance.getName()).getBytes(StandardCharsets.UTF_8);
+        int[][] succ = instance.getSucc();
+        long nbInts = 6 + sizeCSR(succ);
+        ByteBuffer buffer = ByteBuffer.allocate(
+            Math.toIntExact(4 * nbInts + nameBytes.length + padding(nameBytes.length)));
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(0);
+        buffer.putInt(n).putInt(instance.getM());
+        buffer.putInt(nameBytes.length).put(nameBytes);
+        buffer.position(buffer.position() + padding(nameBytes.length));
+        writeCSR(buffer, succ);
+        buffer.flip();
+        try(FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while(buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static long sizeCSR(int[][] lists) {
+        long size = 1 + lists.length + 1;
+        for(int[] list : lists) {
+            size += list.length;
+        }
+        return size;
+    }
+
+    private static void writeCSR(ByteBuffer buffer, int[][] lists) {
+        int offset = 0;
+        for(int[] list : lists) {
+            offset += list.length;
+        }
+        buffer.putInt(offset);
+        offset = 0;
+        buffer.putInt(offset);
+        for(int[] list : lists) {
+            offset += list.length;
+            buffer.putInt(offset);
+        }
+        for(int[] list : lists) {
+            for(int v : list) {
+                buffer.putInt(v);
+            }
+        }
+    }
+
+    private static int padding(int nbBytes) {
+        return (4 - (nbBytes & 3)) & 3;
+    }
+
+    /**
+     * Returns the instance files described by the given path. If the path is a directory, all the JSON and binary
+     * files inside it (and its sub-directories) are returned. Otherwise, the path is considered as a glob pattern
+     * (for example "data/STG/50/50_2_*.json").
+     *
+     * @param pathOrGlob a directory or a glob pattern
+     * @return the sorted list of instance files
+     * @throws IOException if the file tree cannot be walked
+     */
+    public static List<Path> listInstances(String pathOrGlob) throws IOException {
+        Path path = Paths.get(pathOrGlob);
+        PathMatcher matcher;
+        Path root;
+        if(Files.isDirectory(path)) {
+            root = path;
+            matcher = FileSystems.getDefault().getPathMatcher("glob:**.{json,bin}");
+        } else {
+            root = path.getParent();
+            while(root != null && !Files.isDirectory(root)) {
+                root = root.getParent();
+            }
+            if(root == null) {
+                root = Paths.get(".");
+            }
+            matcher = FileSystems.getDefault().getPathMatcher("glob:" + pathOrGlob);
+        }
+        Path finalRoot = root;
+        try(Stream<Path> stream = Files.walk(root)) {
+            return stream.filter(Files::isRegularFile)
+                .filter(p -> matcher.matches(p) || matcher.matches(finalRoot.relativize(p)))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
     /**
      * Returns true if the array contains the value.
      *
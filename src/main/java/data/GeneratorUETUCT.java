@@ -0,0 +1,196 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+
+package data;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generator of synthetic instances of the UET-UCT, to stress the preprocessing, the model building and the propagation
+ * on larger precedence graphs than the STG ones. Two families of precedence graphs are available :
+ * - LAYERED : the tasks are split into depth layers of the same width, and each task of a layer has on average density
+ *   predecessors (and at least one) in the previous layer, so that the longest chain has exactly depth tasks ;
+ * - RANDOM : the tasks are randomly ordered, and each task has on average density successors among the n / depth next
+ *   tasks in this order (the whole order when depth is 1) : the smaller this window, the longer the chains.
+ * The tasks are numbered randomly, so that the numbering of the tasks does not follow the precedences.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+public class GeneratorUETUCT {
+    public enum Family {
+        LAYERED, RANDOM
+    }
+
+    private GeneratorUETUCT() {}
+
+    /**
+     * Generates an instance of the given family.
+     *
+     * @param family the family of the precedence graph
+     * @param name the name of the instance
+     * @param n the number of tasks
+     * @param m the number of machines
+     * @param density the average number of predecessors (LAYERED) or successors (RANDOM) of a task
+     * @param depth the number of layers (LAYERED), or the number of windows of successors (RANDOM)
+     * @param random the source of randomness
+     * @return the generated instance
+     */
+    public static InstanceUETUCT generate(Family family, String name, int n, int m, double density, int depth,
+        Random random) {
+        if(n <= 0 || m <= 0 || depth <= 0 || depth > n || density < 0) {
+            throw new UnsupportedOperationException("Parameters not correct for the generation of an instance");
+        }
+        // position[i] is the number of the task at index i of the topological order of the generated graph
+        int[] position = new int[n];
+        for(int i = 0; i < n; i++) {
+            position[i] = i;
+        }
+        for(int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = position[i];
+            position[i] = position[j];
+            position[j] = tmp;
+        }
+        int[][] succ = family == Family.LAYERED
+            ? layered(n, density, depth, random)
+            : randomDag(n, density, depth, random);
+        int[][] relabelled = new int[n][];
+        for(int i = 0; i < n; i++) {
+            relabelled[position[i]] = Arrays.stream(succ[i]).map(s -> position[s]).sorted().toArray();
+        }
+        return new InstanceUETUCT(name, n, m, relabelled);
+    }
+
+    /**
+     * Returns the successors lists, in the topological order, of a layered graph.
+     */
+    private static int[][] layered(int n, double density, int depth, Random random) {
+        int[] firstOfLayer = new int[depth + 1];
+        for(int l = 0; l <= depth; l++) {
+            firstOfLayer[l] = (int) ((long) n * l / depth);
+        }
+        int[][] pred = new int[n][];
+        for(int l = 1; l < depth; l++) {
+            int width = firstOfLayer[l] - firstOfLayer[l - 1];
+            for(int i = firstOfLayer[l]; i < firstOfLayer[l + 1]; i++) {
+                int nb = Math.min(width, 1 + binomial(width - 1, (density - 1) / Math.max(1, width - 1), random));
+                pred[i] = sample(firstOfLayer[l - 1], width, nb, random);
+            }
+        }
+        for(int i = 0; i < firstOfLayer[1]; i++) {
+            pred[i] = new int[0];
+        }
+        return reverse(n, pred);
+    }
+
+    /**
+     * Returns the successors lists, in the topological order, of a random graph.
+     */
+    private static int[][] randomDag(int n, double density, int depth, Random random) {
+        int window = Math.max(1, n / depth);
+        int[][] succ = new int[n][];
+        for(int i = 0; i < n; i++) {
+            int size = Math.min(window, n - 1 - i);
+            int nb = size == 0 ? 0 : binomial(size, Math.min(1, density / size), random);
+            succ[i] = sample(i + 1, size, nb, random);
+        }
+        return succ;
+    }
+
+    /**
+     * Returns the number of successes among nb trials of probability p, approximated by a normal law when nb is large.
+     */
+    private static int binomial(int nb, double p, Random random) {
+        if(p <= 0 || nb <= 0) {
+            return 0;
+        }
+        if(p >= 1) {
+            return nb;
+        }
+        if(nb < 64) {
+            int successes = 0;
+            for(int k = 0; k < nb; k++) {
+                if(random.nextDouble() < p) {
+                    successes++;
+                }
+            }
+            return successes;
+        }
+        // normal approximation, clamped to [0, nb]
+        double value = nb * p + Math.sqrt(nb * p * (1 - p)) * random.nextGaussian();
+        return (int) Math.max(0, Math.min(nb, Math.round(value)));
+    }
+
+    /**
+     * Returns nb distinct values among first, ..., first + size - 1, sorted in increasing order.
+     */
+    private static int[] sample(int first, int size, int nb, Random random) {
+        // partial Fisher-Yates shuffle on the offsets, only materialising the swapped ones
+        Map<Integer, Integer> swapped = new HashMap<>();
+        int[] values = new int[nb];
+        for(int k = 0; k < nb; k++) {
+            int j = k + random.nextInt(size - k);
+            int vj = swapped.getOrDefault(j, j);
+            swapped.put(j, swapped.getOrDefault(k, k));
+            values[k] = first + vj;
+        }
+        Arrays.sort(values);
+        return values;
+    }
+
+    private static int[][] reverse(int n, int[][] pred) {
+        int[] nbSucc = new int[n];
+        for(int[] links : pred) {
+            for(int p : links) {
+                nbSucc[p]++;
+            }
+        }
+        int[][] succ = new int[n][];
+        for(int i = 0; i < n; i++) {
+            succ[i] = new int[nbSucc[i]];
+            nbSucc[i] = 0;
+        }
+        for(int i = 0; i < n; i++) {
+            for(int p : pred[i]) {
+                succ[p][nbSucc[p]++] = i;
+            }
+        }
+        return succ;
+    }
+
+    /**
+     * Usage : Family n m density depth nbInstances outputDirectory [seed [binary]]
+     * Writes the instances family_n_m_XXXX.json (or .bin if binary is true) in the output directory.
+     */
+    public static void main(String[] args) throws IOException {
+        Family family = Family.valueOf(args[0]);
+        int n = Integer.parseInt(args[1]);
+        int m = Integer.parseInt(args[2]);
+        double density = Double.parseDouble(args[3]);
+        int depth = Integer.parseInt(args[4]);
+        int nbInstances = Integer.parseInt(args[5]);
+        Path outputDirectory = Paths.get(args[6]);
+        long seed = args.length > 7 ? Long.parseLong(args[7]) : 0;
+        boolean binary = args.length > 8 && Boolean.parseBoolean(args[8]);
+        Files.createDirectories(outputDirectory);
+        Random random = new Random(seed);
+        for(int k = 0; k < nbInstances; k++) {
+            String name = family.name().toLowerCase() + "_" + n + "_" + m + "_" + String.format("%04d", k);
+            InstanceUETUCT instance = generate(family, name, n, m, density, depth, random);
+            if(binary) {
+                Factory.toBinaryFile(outputDirectory.resolve(name + Factory.BINARY_EXTENSION).toString(), instance);
+            } else {
+                Factory.toFile(outputDirectory.resolve(name + ".json").toString(), instance);
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+@author Arthur Godet <arth.godet@gmail.com>
+@since 17/10/2026
+*/
+package data;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Converts JSON instance files into the binary format read by {@link Factory#fromBinaryFile(String)}.
+ *
+ * Usage : directoryOrGlob [outputDirectory]
+ * By default, the binary files are written next to the JSON ones. They only contain the successors lists.
+ *
+ * @author Arthur Godet <arth.godet@gmail.com>
+ */
+public class InstanceConverter {
+    public static void main(String[] args) throws IOException {
+        Path outputDirectory = args.length > 1 ? Paths.get(args[1]) : null;
+        for(Path file : Factory.listInstances(args[0])) {
+            String fileName = file.getFileName().toString();
+            if(!fileName.endsWith(".json")) {
+                continue;
+            }
+            InstanceUETUCT instance = Factory.fromJSONFile(file.toString());
+            if(instance != null) {
+                String binaryName = fileName.substring(0, fileName.length() - 5) + Factory.BINARY_EXTENSION;
+                Path binary = outputDirectory != null ? outputDirectory.resolve(binaryName)
+                    : file.resolveSibling(binaryName);
+                Factory.toBinaryFile(binary.toString(), instance);
+            }
+        }
+    }
+}
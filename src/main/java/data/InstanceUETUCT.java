@@ -7,12 +7,10 @@ package data;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import gnu.trove.list.array.TIntArrayList;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
-import java.util.BitSet;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
 
 public class InstanceUETUCT {
     private final String name;
@@ -22,9 +20,20 @@ public class InstanceUETUCT {
     private final int[][] pred;
     private final int[][] succ;
     @JsonIgnore
-    private final int[][] ancestors;
+    private final int[] topologicalOrder;
     @JsonIgnore
-    private final int[][] descendants;
+    private final int[] deepestSuccessor;
+    @JsonIgnore
+    private final long[][] ancestorsBits;
+    @JsonIgnore
+    private final long[][] descendantsBits;
+    @JsonIgnore
+    private volatile int[][] ancestors;
+    @JsonIgnore
+    private volatile int[][] descendants;
+    // lower bound of splitMakespanLowerBound(), computed at its first call
+    @JsonIgnore
+    private volatile int splitMakespanLowerBound = -1;
 
     @JsonCreator
     public InstanceUETUCT(@JsonProperty("name") String name,
@@ -35,44 +44,136 @@ public class InstanceUETUCT {
         this.n = n;
         this.m = m;
         this.succ = succ;
-        pred = new int[n][];
-        TIntArrayList list = new TIntArrayList(n);
+        if(n != succ.length || !correctIndexes(n, succ)) {
+            throw new UnsupportedOperationException("Instance not correct");
+        }
+        this.pred = buildPredecessors(n, succ);
+        this.topologicalOrder = topologicalOrder(n, pred, succ);
+        if(topologicalOrder == null) {
+            throw new UnsupportedOperationException("Instance not correct : the precedence graph contains a cycle");
+        }
+        this.deepestSuccessor = buildDeepestSuccessor();
+        this.ancestorsBits = buildClosure(pred, false);
+        this.descendantsBits = buildClosure(succ, true);
+    }
+
+    /**
+     * Builds the same instance as the given one with another number of machines, sharing its preprocessed data, which
+     * does not depend on the number of machines.
+     *
+     * @param instance the instance
+     * @param m the number of machines
+     */
+    private InstanceUETUCT(InstanceUETUCT instance, int m) {
+        this.name = instance.name;
+        this.n = instance.n;
+        this.m = m;
+        this.succ = instance.succ;
+        this.pred = instance.pred;
+        this.topologicalOrder = instance.topologicalOrder;
+        this.deepestSuccessor = instance.deepestSuccessor;
+        this.ancestorsBits = instance.ancestorsBits;
+        this.descendantsBits = instance.descendantsBits;
+        this.ancestors = instance.ancestors;
+        this.descendants = instance.descendants;
+    }
+
+    /**
+     * Builds the predecessors lists from the successors lists in O(n+E). The predecessors of each task are sorted
+     * in increasing order.
+     *
+     * @param n the number of tasks
+     * @param succ the successors lists
+     * @return the predecessors lists
+     */
+    private static int[][] buildPredecessors(int n, int[][] succ) {
+        int[] degree = new int[n];
         for(int i = 0; i < n; i++) {
-            list.clear();
-            for(int j = i-1; j >= 0; j--) {
-                if(Factory.contains(succ[j], i)) {
-                    list.add(j);
+            for(int j = 0; j < succ[i].length; j++) {
+                degree[succ[i][j]]++;
+            }
+        }
+        int[][] pred = new int[n][];
+        for(int i = 0; i < n; i++) {
+            pred[i] = new int[degree[i]];
+            degree[i] = 0;
+        }
+        for(int i = 0; i < n; i++) {
+            for(int j = 0; j < succ[i].length; j++) {
+                int s = succ[i][j];
+                pred[s][degree[s]++] = i;
+            }
+        }
+        return pred;
+    }
+
+    private static boolean correctIndexes(int n, int[][] links) {
+        for(int i = 0; i < links.length; i++) {
+            if(links[i] == null) {
+                return false;
+            }
+            for(int j = 0; j < links[i].length; j++) {
+                if(links[i][j] < 0 || links[i][j] >= n || links[i][j] == i) {
+                    return false;
                 }
             }
-            pred[i] = Arrays.stream(list.toArray()).sorted().toArray();
         }
-        if(!correctData(n, pred, succ)) {
-            throw new UnsupportedOperationException("Instance not correct");
+        return true;
+    }
+
+    /**
+     * Computes a topological order of the tasks in O(n+E), with Kahn's algorithm.
+     *
+     * @param n the number of tasks
+     * @param pred the predecessors lists
+     * @param succ the successors lists
+     * @return a topological order of the tasks, or null if the precedence graph contains a cycle
+     */
+    public static int[] topologicalOrder(int n, int[][] pred, int[][] succ) {
+        int[] nbPredLeft = new int[n];
+        int[] order = new int[n];
+        int size = 0;
+        for(int i = 0; i < n; i++) {
+            nbPredLeft[i] = pred[i].length;
+            if(nbPredLeft[i] == 0) {
+                order[size++] = i;
+            }
         }
-        this.ancestors = buildAncestors();
-        this.descendants = buildDescendants();
+        for(int k = 0; k < size; k++) {
+            int i = order[k];
+            for(int j = 0; j < succ[i].length; j++) {
+                if(--nbPredLeft[succ[i][j]] == 0) {
+                    order[size++] = succ[i][j];
+                }
+            }
+        }
+        return size == n ? order : null;
     }
 
     public static boolean correctData(int n, int[][] pred, int[][] succ) {
-        if(n != pred.length || n != succ.length) {
+        if(n != pred.length || n != succ.length || !correctIndexes(n, pred) || !correctIndexes(n, succ)) {
             return false;
         }
-        for(int i = 0; i<n; i++) {
-            for(int j = 0; j<pred[i].length; j++) {
-                if(!Factory.contains(succ[pred[i][j]], i)) {
-                    return false;
-                }
+        // each arc (i, succ[i][j]) is marked with i in the stamp of succ[i][j], then each predecessor list is checked
+        // against the marks : lists are equal iff sizes are equal and all elements are marked once
+        int[][] fromSucc = buildPredecessors(n, succ);
+        int[] stamp = new int[n];
+        Arrays.fill(stamp, -1);
+        for(int i = 0; i < n; i++) {
+            if(fromSucc[i].length != pred[i].length) {
+                return false;
             }
-        }
-        for(int i = 0; i<n; i++) {
-            for(int j = 0; j<succ[i].length; j++) {
-                if(!Factory.contains(pred[succ[i][j]], i)) {
-                    return false;
+            for(int j = 0; j < fromSucc[i].length; j++) {
+                stamp[fromSucc[i][j]] = i;
+            }
+            for(int j = 0; j < pred[i].length; j++) {
+                if(stamp[pred[i][j]] != i) {
+                    return false; // either not an arc of succ, or a duplicate
                 }
+                stamp[pred[i][j]] = -1;
             }
         }
-        // TODO : check that there is no cycle
-        return true;
+        return topologicalOrder(n, pred, succ) != null;
     }
 
     public String getName() {
@@ -95,14 +196,109 @@ public class InstanceUETUCT {
         return succ;
     }
 
+    /**
+     * Returns the ancestors of each task, i.e. all the tasks from which there is a path to it, sorted in increasing
+     * order.
+     *
+     * @return the ancestors of each task
+     */
     public int[][] getAncestors() {
+        if(ancestors == null) {
+            ancestors = toArrays(ancestorsBits);
+        }
         return ancestors;
     }
 
+    /**
+     * Returns the descendants of each task, i.e. all the tasks to which there is a path from it, sorted in increasing
+     * order.
+     *
+     * @return the descendants of each task
+     */
     public int[][] getDescendants() {
+        if(descendants == null) {
+            descendants = toArrays(descendantsBits);
+        }
         return descendants;
     }
 
+    /**
+     * Returns a topological order of the tasks, i.e. each task appears after all its predecessors.
+     *
+     * @return a topological order of the tasks
+     */
+    @JsonIgnore
+    public int[] getTopologicalOrder() {
+        return topologicalOrder;
+    }
+
+    /**
+     * Returns true iff there is a path from task a to task b in the precedence graph.
+     *
+     * @param a a task
+     * @param b a task
+     * @return true iff a is an ancestor of b
+     */
+    public boolean isAncestor(int a, int b) {
+        return (ancestorsBits[b][a >>> 6] & (1L << a)) != 0;
+    }
+
+    /**
+     * Returns the number of ancestors of task i, without building the ancestors lists.
+     *
+     * @param i a task
+     * @return the number of ancestors of i
+     */
+    public int nbAncestors(int i) {
+        int nb = 0;
+        for(long word : ancestorsBits[i]) {
+            nb += Long.bitCount(word);
+        }
+        return nb;
+    }
+
+    /**
+     * Returns the number of descendants of task i, without building the descendants lists.
+     *
+     * @param i a task
+     * @return the number of descendants of i
+     */
+    public int nbDescendants(int i) {
+        int nb = 0;
+        for(long word : descendantsBits[i]) {
+            nb += Long.bitCount(word);
+        }
+        return nb;
+    }
+
+    /**
+     * Returns the transitive reduction of the precedence graph, i.e. the successors of each task which are not
+     * descendants of another of its successors : it has the same ancestors and descendants as the precedence graph,
+     * with the fewest links.
+     *
+     * @return the successors of each task in the transitive reduction, sorted in increasing order
+     */
+    public int[][] transitiveReduction() {
+        int words = (n + 63) >>> 6;
+        long[] implied = new long[words];
+        int[][] reduced = new int[n][];
+        for(int i = 0; i < n; i++) {
+            Arrays.fill(implied, 0L);
+            for(int s : succ[i]) {
+                long[] other = descendantsBits[s];
+                for(int w = 0; w < words; w++) {
+                    implied[w] |= other[w];
+                }
+            }
+            reduced[i] = Arrays.stream(succ[i])
+                .filter(s -> (implied[s >>> 6] & (1L << s)) == 0)
+                .distinct()
+                .sorted()
+                .toArray();
+        }
+        return reduced;
+    }
+
     @Override
     public boolean equals(Object o) {
         if(o instanceof InstanceUETUCT) {
@@ -134,120 +330,436 @@ public class InstanceUETUCT {
         return false;
     }
 
+    /**
+     * Returns, for each task, the number of tasks in the longest chain of its descendants.
+     *
+     * @return the depth of the deepest successor of each task
+     */
     public int[] deepestSuccessor() {
-        int[] deepestSuccessor = new int[succ.length];
-        int n = succ.length;
-        LinkedList<Integer> list = new LinkedList<>();
-        boolean[] hasBeenTreated = new boolean[n];
-        for(int i = 0; i < n; i++) {
-            if(succ[i].length == 0) {
-                list.add(i);
+        return deepestSuccessor.clone();
+    }
+
+    /**
+     * Returns the earliest start time of each task in an optimal schedule with duplication on an unlimited number of
+     * machines, following the rule of Colin and Chretienne : if a single predecessor of task i finishes last, i can
+     * start right after it on the same machine (its D-path being duplicated there), otherwise i has to wait for one
+     * more time unit. These are lower bounds of the start times for any number of machines, with or without
+     * duplication.
+     *
+     * @return the earliest start time of each task
+     */
+    public int[] earliestStarts() {
+        int[] earliestStarts = new int[n];
+        for(int k = 0; k < n; k++) {
+            int i = topologicalOrder[k];
+            int max = -1;
+            int nb = 0;
+            for(int j = 0; j < pred[i].length; j++) {
+                int t = earliestStarts[pred[i][j]];
+                if(t > max) {
+                    max = t;
+                    nb = 1;
+                } else if(t == max) {
+                    nb++;
+                }
             }
+            earliestStarts[i] = nb == 0 ? 0 : max + (nb == 1 ? 1 : 2);
+        }
+        return earliestStarts;
+    }
+
+    /**
+     * Returns a lower bound of the makespan with m machines. It is the maximum of :
+     * - the optimal makespan with duplication on an unlimited number of machines (see {@link #earliestStarts()}) ;
+     * - for every pair (t, q), t + q + ceil(N(t, q) / m), where N(t, q) is the number of tasks that cannot start before
+     * t and that are followed by a chain of at least q tasks : these tasks have to be processed by the m machines
+     * between t and the makespan minus q.
+     * The latter generalises the ceil(n/m) bound (t = q = 0).
+     *
+     * @return a lower bound of the makespan
+     */
+    public int makespanLowerBound() {
+        int[] earliestStarts = earliestStarts();
+        int maxStart = 0;
+        int maxTail = 0;
+        for(int i = 0; i < n; i++) {
+            maxStart = Math.max(maxStart, earliestStarts[i]);
+            maxTail = Math.max(maxTail, deepestSuccessor[i]);
+        }
+        int lb = maxStart + 1;
+        // nbTasks[q] : number of tasks i with earliestStarts[i] >= t and deepestSuccessor[i] == q, for decreasing t
+        int[] nbTasks = new int[maxTail + 1];
+        int[] byStart = new int[maxStart + 2];
+        for(int i = 0; i < n; i++) {
+            byStart[earliestStarts[i] + 1]++;
+        }
+        for(int t = 1; t < byStart.length; t++) {
+            byStart[t] += byStart[t - 1];
+        }
+        int[] tasks = new int[n];
+        for(int i = 0; i < n; i++) {
+            tasks[byStart[earliestStarts[i]]++] = i;
         }
-        while(!list.isEmpty()) {
-            int i = list.removeFirst();
-            boolean allSuccTreated = true;
-            for(int j = 0; j < succ[i].length && allSuccTreated; j++) {
-                allSuccTreated = hasBeenTreated[succ[i][j]];
+        int idx = n - 1;
+        for(int t = maxStart; t >= 0; t--) {
+            while(idx >= 0 && earliestStarts[tasks[idx]] >= t) {
+                nbTasks[deepestSuccessor[tasks[idx]]]++;
+                idx--;
             }
-            if(allSuccTreated) {
-                for(int j = 0 ; j < succ[i].length; j++) {
-                    deepestSuccessor[i] = Math.max(deepestSuccessor[i], 1 + deepestSuccessor[succ[i][j]]);
-                }
-                hasBeenTreated[i] = true;
-                for(int j = 0; j < pred[i].length; j++) {
-                    if(!list.contains(pred[i][j])) {
-                        list.addLast(pred[i][j]);
-                    }
+            int count = 0;
+            for(int q = maxTail; q >= 0; q--) {
+                count += nbTasks[q];
+                if(count > 0) {
+                    lb = Math.max(lb, t + q + (count + m - 1) / m);
                 }
             }
         }
-        return deepestSuccessor;
+        return lb;
+    }
+
+    /**
+     * Returns a lower bound of the makespan obtained by splitting the instance at its articulation tasks, i.e. the
+     * tasks that are an ancestor or a descendant of every other task. If v is such a task, its ancestors and itself
+     * are processed before its descendants, so the makespan is at least the sum of a lower bound for each side : the
+     * ancestors of v and v, whose only sink is v, take at least earliestStarts[v] + 1 time units (see
+     * {@link #earliestStarts()}), and the descendants of v at least deepestSuccessor[v] time units, each side taking
+     * as well at least its number of tasks divided by m. The returned bound is never lower than
+     * {@link #makespanLowerBound()}. It is computed at the first call only.
+     *
+     * @return a lower bound of the makespan
+     */
+    public int splitMakespanLowerBound() {
+        if(splitMakespanLowerBound == -1) {
+            splitMakespanLowerBound = buildSplitMakespanLowerBound();
+        }
+        return splitMakespanLowerBound;
     }
 
-    private int[][] buildAncestors() {
-        int n = pred.length;
-        int[][] ancestors = new int[n][];
-        HashSet<Integer>[] sets = new HashSet[n];
-        BitSet bitSet = new BitSet(n);
-        boolean[] done = new boolean[n];
+    private int buildSplitMakespanLowerBound() {
+        int lb = makespanLowerBound();
+        int[] earliestStarts = earliestStarts();
+        for(int k = 0; k < n - 1; k++) {
+            int v = topologicalOrder[k];
+            // the ancestors of an articulation task come before it in the topological order, and its descendants after
+            // it : the two sides are the first k + 1 tasks and the last n - 1 - k ones
+            if(nbAncestors(v) == k && nbDescendants(v) == n - 1 - k) {
+                int before = Math.max(earliestStarts[v] + 1, (k + 1 + m - 1) / m);
+                int after = Math.max(deepestSuccessor[v], (n - 1 - k + m - 1) / m);
+                lb = Math.max(lb, before + after);
+            }
+        }
+        return lb;
+    }
+
+    /**
+     * Returns the weakly connected components of the precedence graph, i.e. the sets of tasks that are linked by
+     * precedences, ignoring their direction. Each component is sorted in increasing order, and the components are
+     * sorted by their first task.
+     *
+     * @return the weakly connected components of the precedence graph
+     */
+    public int[][] components() {
+        int[] component = new int[n];
+        Arrays.fill(component, -1);
+        int[] stack = new int[n];
+        int[] sizes = new int[n];
+        int nbComponents = 0;
         for(int i = 0; i < n; i++) {
-            sets[i] = new HashSet<>(n);
-            if(pred[i].length == 0) {
-                bitSet.set(i);
-            }
-        }
-        while(!bitSet.isEmpty()) {
-            int i = bitSet.nextSetBit(0);
-            bitSet.clear(i);
-            if(!done[i]) {
-                boolean allDone = true;
-                for(int j = 0; j < pred[i].length && allDone; j++) {
-                    allDone = done[pred[i][j]];
-                }
-                if(allDone) {
-                    for(int j = 0; j < pred[i].length; j++) {
-                        sets[i].add(pred[i][j]);
-                        sets[i].addAll(sets[pred[i][j]]);
-                    }
-                    for(int j = 0; j < succ[i].length; j++) {
-                        bitSet.set(succ[i][j]);
+            if(component[i] == -1) {
+                int size = 0;
+                component[i] = nbComponents;
+                stack[size++] = i;
+                while(size > 0) {
+                    int t = stack[--size];
+                    sizes[nbComponents]++;
+                    for(int[] links : new int[][]{pred[t], succ[t]}) {
+                        for(int l : links) {
+                            if(component[l] == -1) {
+                                component[l] = nbComponents;
+                                stack[size++] = l;
+                            }
+                        }
                     }
-                    done[i] = true;
                 }
+                nbComponents++;
             }
         }
+        int[][] components = new int[nbComponents][];
+        for(int c = 0; c < nbComponents; c++) {
+            components[c] = new int[sizes[c]];
+            sizes[c] = 0;
+        }
         for(int i = 0; i < n; i++) {
-            ancestors[i] = new int[sets[i].size()];
-            Iterator<Integer> iter = sets[i].iterator();
-            int j = 0;
-            while(iter.hasNext()) {
-                ancestors[i][j++] = iter.next();
+            components[component[i]][sizes[component[i]]++] = i;
+        }
+        return components;
+    }
+
+    /**
+     * Returns the sub-instance made of the given tasks and of the precedences between them, with the same number of
+     * machines. Task tasks[k] of this instance is task k of the sub-instance.
+     *
+     * @param tasks the tasks of the sub-instance, sorted in increasing order
+     * @return the sub-instance
+     */
+    public InstanceUETUCT subInstance(int[] tasks) {
+        return subInstance(tasks, succ);
+    }
+
+    /**
+     * Returns the sub-instance made of the given tasks and of the given precedences between them, e.g. the ones of the
+     * transitive reduction (see {@link #transitiveReduction()}), with the same number of machines. Task tasks[k] of
+     * this instance is task k of the sub-instance.
+     *
+     * @param tasks the tasks of the sub-instance, sorted in increasing order
+     * @param succ the successors of each task of this instance to keep, if they are in the sub-instance
+     * @return the sub-instance
+     */
+    public InstanceUETUCT subInstance(int[] tasks, int[][] succ) {
+        int[] index = new int[n];
+        Arrays.fill(index, -1);
+        for(int k = 0; k < tasks.length; k++) {
+            index[tasks[k]] = k;
+        }
+        int[][] subSucc = new int[tasks.length][];
+        for(int k = 0; k < tasks.length; k++) {
+            int[] links = succ[tasks[k]];
+            int size = 0;
+            for(int l : links) {
+                if(index[l] != -1) {
+                    size++;
+                }
+            }
+            subSucc[k] = new int[size];
+            size = 0;
+            for(int l : links) {
+                if(index[l] != -1) {
+                    subSucc[k][size++] = index[l];
+                }
             }
         }
-        return ancestors;
+        return new InstanceUETUCT(name, tasks.length, m, subSucc);
     }
 
-    private int[][] buildDescendants() {
-        int n = succ.length;
-        int[][] descendants = new int[n][];
-        HashSet<Integer>[] sets = new HashSet[n];
-        BitSet bitSet = new BitSet(n);
-        boolean[] done = new boolean[n];
-        for(int i = 0; i < n; i++) {
-            sets[i] = new HashSet<>();
-            if(succ[i].length == 0) {
-                bitSet.set(i);
-            }
-        }
-        while(!bitSet.isEmpty()) {
-            int i = bitSet.nextSetBit(0);
-            bitSet.clear(i);
-            if(!done[i]) {
-                boolean allDone = true;
-                for(int j = 0; j < succ[i].length && allDone; j++) {
-                    allDone = done[succ[i][j]];
-                }
-                if(allDone) {
-                    for(int j = 0; j < succ[i].length; j++) {
-                        sets[i].add(succ[i][j]);
-                        sets[i].addAll(sets[succ[i][j]]);
-                    }
-                    for(int j = 0; j < pred[i].length; j++) {
-                        bitSet.set(pred[i][j]);
-                    }
-                    done[i] = true;
+    /**
+     * Returns the same instance with the given number of machines, without preprocessing the precedence graph again.
+     *
+     * @param m the number of machines
+     * @return the instance with m machines
+     */
+    public InstanceUETUCT withMachines(int m) {
+        if(m <= 0) {
+            throw new UnsupportedOperationException("Instance not correct : the number of machines must be positive");
+        }
+        return m == this.m ? this : new InstanceUETUCT(this, m);
+    }
+
+    /**
+     * Refines the given colours of the tasks with the ones of their predecessors and of their successors until the
+     * partition of the tasks is stable. The colours only depend on the structure of the precedence graph and on the
+     * given colours, not on the numbering of the tasks, and two tasks of the same colour have the same colours of
+     * predecessors and of successors.
+     *
+     * @param colour the initial colour of each task, refined in place
+     * @return the colour of each task, from 0 to the number of colours minus one
+     */
+    private int[] refinedColours(int[] colour) {
+        int nbColours = (int) Arrays.stream(colour).distinct().count();
+        int[][] signature = new int[n][];
+        Integer[] tasks = new Integer[n];
+        while(true) {
+            for(int i = 0; i < n; i++) {
+                tasks[i] = i;
+                int[] sign = new int[2 + pred[i].length + succ[i].length];
+                sign[0] = colour[i];
+                sign[1] = pred[i].length;
+                for(int j = 0; j < pred[i].length; j++) {
+                    sign[2 + j] = colour[pred[i][j]];
                 }
+                for(int j = 0; j < succ[i].length; j++) {
+                    sign[2 + pred[i].length + j] = colour[succ[i][j]];
+                }
+                Arrays.sort(sign, 2, 2 + pred[i].length);
+                Arrays.sort(sign, 2 + pred[i].length, sign.length);
+                signature[i] = sign;
             }
+            Arrays.sort(tasks, (i, j) -> compare(signature[i], signature[j]));
+            int nb = 0;
+            for(int k = 0; k < n; k++) {
+                if(k > 0 && compare(signature[tasks[k - 1]], signature[tasks[k]]) != 0) {
+                    nb++;
+                }
+                colour[tasks[k]] = nb;
+            }
+            // the new partition refines the previous one, so it is stable iff it has as many colours
+            if(nb + 1 == nbColours || n == 0) {
+                return colour;
+            }
+            nbColours = nb + 1;
         }
+    }
+
+    private static int compare(int[] a, int[] b) {
+        for(int k = 0; k < Math.min(a.length, b.length); k++) {
+            if(a[k] != b[k]) {
+                return Integer.compare(a[k], b[k]);
+            }
+        }
+        return Integer.compare(a.length, b.length);
+    }
+
+    /**
+     * Returns a canonical numbering of the tasks, by individualisation and refinement : as long as several tasks have
+     * the same colour (see {@link #fingerprint()}), the one of smallest index among the first such colour is given its
+     * own colour, and the colours are refined again. The tasks are then numbered by their colour. Two instances that
+     * only differ by the numbering of their tasks have the same canonical numbering as long as the individualised tasks
+     * are symmetric to the other tasks of their colour, which is the case for most precedence graphs.
+     *
+     * @return the task of each canonical index
+     */
+    public int[] canonicalOrder() {
+        int[] colour = refinedColours(new int[n]);
+        int[] size = new int[n];
+        while(true) {
+            Arrays.fill(size, 0);
+            for(int i = 0; i < n; i++) {
+                size[colour[i]]++;
+            }
+            int c = 0;
+            while(c < n && size[c] <= 1) {
+                c++;
+            }
+            if(c == n) {
+                break;
+            }
+            // the first task of colour c keeps an even colour, the other ones are given the next one
+            boolean individualised = false;
+            for(int i = 0; i < n; i++) {
+                boolean isOther = colour[i] == c && individualised;
+                individualised |= colour[i] == c;
+                colour[i] = 2 * colour[i] + (isOther ? 1 : 0);
+            }
+            colour = refinedColours(colour);
+        }
+        int[] order = new int[n];
         for(int i = 0; i < n; i++) {
-            descendants[i] = new int[sets[i].size()];
-            Iterator<Integer> iter = sets[i].iterator();
-            int j = 0;
-            while(iter.hasNext()) {
-                descendants[i][j++] = iter.next();
+            order[colour[i]] = i;
+        }
+        return order;
+    }
+
+    /**
+     * Returns the successors lists of the instance in the given numbering, each one being sorted in increasing order.
+     *
+     * @param order the task of each new index
+     * @return the successors lists in the new numbering
+     */
+    public int[][] relabelledSucc(int[] order) {
+        int[] index = new int[n];
+        for(int k = 0; k < n; k++) {
+            index[order[k]] = k;
+        }
+        int[][] relabelled = new int[n][];
+        for(int k = 0; k < n; k++) {
+            relabelled[k] = Arrays.stream(succ[order[k]]).map(i -> index[i]).sorted().toArray();
+        }
+        return relabelled;
+    }
+
+    /**
+     * Returns a fingerprint of the structure of the instance, i.e. of its number of machines and of its precedence
+     * graph, which neither depends on the name of the instance, on the order of the successors lists nor on the
+     * numbering of the tasks. The tasks are coloured by colour refinement (Weisfeiler-Lehman), and the fingerprint is a
+     * hash of the colours of each task and of its successors : isomorphic instances have the same fingerprint, but two
+     * instances with the same fingerprint are not necessarily isomorphic.
+     *
+     * @return the fingerprint, as an hexadecimal string
+     */
+    public String fingerprint() {
+        int[] colour = refinedColours(new int[n]);
+        int[] byColour = Arrays.stream(topologicalOrder).boxed().sorted((i, j) -> Integer.compare(colour[i], colour[j]))
+            .mapToInt(Integer::intValue).toArray();
+        StringBuilder canonical = new StringBuilder().append(n).append(' ').append(m);
+        for(int i : byColour) {
+            canonical.append(';').append(colour[i]);
+            Arrays.stream(succ[i]).map(s -> colour[s]).sorted().forEach(c -> canonical.append(',').append(c));
+        }
+        return hash(canonical.toString());
+    }
+
+    /**
+     * Returns the first 16 bytes of the SHA-256 hash of the given text, as an hexadecimal string.
+     *
+     * @param text the text
+     * @return the hash of the text
+     */
+    static String hash(String text) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for(int k = 0; k < 16; k++) {
+                hex.append(String.format("%02x", hash[k]));
             }
+            return hex.toString();
+        } catch(NoSuchAlgorithmException e) {
+            throw new UnsupportedOperationException("SHA-256 not available", e);
         }
-        return descendants;
+    }
+
+    private int[] buildDeepestSuccessor() {
+        int[] deepestSuccessor = new int[n];
+        for(int k = n - 1; k >= 0; k--) {
+            int i = topologicalOrder[k];
+            for(int j = 0; j < succ[i].length; j++) {
+                deepestSuccessor[i] = Math.max(deepestSuccessor[i], 1 + deepestSuccessor[succ[i][j]]);
+            }
+        }
+        return deepestSuccessor;
+    }
+
+    /**
+     * Computes the transitive closure of the given links as bitsets, following the topological order (or its reverse
+     * when reverse is true) so that the closure of each linked task is complete when it is used.
+     *
+     * @param links the predecessors (resp. successors) lists
+     * @param reverse false for predecessors, true for successors
+     * @return the ancestors (resp. descendants) of each task as bitsets
+     */
+    private long[][] buildClosure(int[][] links, boolean reverse) {
+        int words = (n + 63) >>> 6;
+        long[][] closure = new long[n][words];
+        for(int k = 0; k < n; k++) {
+            int i = topologicalOrder[reverse ? n - 1 - k : k];
+            long[] bits = closure[i];
+            for(int j = 0; j < links[i].length; j++) {
+                int l = links[i][j];
+                long[] other = closure[l];
+                for(int w = 0; w < words; w++) {
+                    bits[w] |= other[w];
+                }
+                bits[l >>> 6] |= 1L << l;
+            }
+        }
+        return closure;
+    }
+
+    private static int[][] toArrays(long[][] bitsets) {
+        int[][] arrays = new int[bitsets.length][];
+        for(int i = 0; i < bitsets.length; i++) {
+            int size = 0;
+            for(long word : bitsets[i]) {
+                size += Long.bitCount(word);
+            }
+            arrays[i] = new int[size];
+            int k = 0;
+            for(int w = 0; w < bitsets[i].length; w++) {
+                long word = bitsets[i][w];
+                while(word != 0) {
+                    arrays[i][k++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+        }
+        return arrays;
     }
 }